@@ -0,0 +1,50 @@
+package com.cadastro.reativo;
+
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Aplicação Spring Boot da variante reativa da API de Cadastro de Usuários
+ * 
+ * Expõe o mesmo contrato /usuarios da API servlet sobre WebFlux (Netty) e R2DBC,
+ * reutilizando os DTOs, a validação e o schema do módulo api.
+ */
+@SpringBootApplication
+public class CadastroUsuarioReativoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(CadastroUsuarioReativoApplication.class, args);
+    }
+
+    /**
+     * Validação do cadastro, a mesma da api
+     */
+    @Bean
+    public ValidadorCadastroUsuario validadorCadastroUsuario(
+            @Value("${usuarios.validacao.falhar-rapido:false}") boolean falharRapido) {
+        return new ValidadorCadastroUsuario(falharRapido);
+    }
+
+    /**
+     * Configuração de CORS para permitir requisições do frontend
+     */
+    @Bean
+    public WebFluxConfigurer corsConfigurer() {
+        return new WebFluxConfigurer() {
+            @Override
+            public void addCorsMappings(CorsRegistry registry) {
+                registry.addMapping("/usuarios/**")
+                        .allowedOrigins("*")
+                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                        .allowedHeaders("*")
+                        .allowCredentials(false)
+                        .maxAge(3600);
+            }
+        };
+    }
+}
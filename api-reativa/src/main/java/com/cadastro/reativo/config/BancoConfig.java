@@ -0,0 +1,40 @@
+package com.cadastro.reativo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler onde as operações de banco são executadas
+ * 
+ * O driver R2DBC do H2 executa as consultas de forma síncrona na thread que assina o
+ * Publisher, e o pool entrega cada conexão devolvida ao próximo pedido pendente na mesma
+ * thread. Sob carga essa thread fica presa em uma cadeia contínua de consultas: se for um
+ * event loop do Netty, as conexões HTTP atendidas por ele deixam de ser lidas; se for um
+ * worker com fila própria (boundedElastic), as tarefas enfileiradas nele ficam paradas.
+ * Por isso as operações rodam em um pool fixo com fila única, com uma thread por conexão:
+ * qualquer thread livre pega a próxima tarefa e os event loops ficam livres para a rede.
+ */
+@Configuration
+@Slf4j
+public class BancoConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler schedulerBanco(@Value("${spring.r2dbc.pool.max-size:10}") int conexoes) {
+        AtomicInteger sequencia = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(conexoes, tarefa -> {
+            Thread thread = new Thread(tarefa, "banco-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Operações de banco em {} threads", conexoes);
+        return Schedulers.fromExecutorService(pool, "banco");
+    }
+}
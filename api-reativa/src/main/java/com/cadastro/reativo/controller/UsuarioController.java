@@ -0,0 +1,229 @@
+package com.cadastro.reativo.controller;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import com.cadastro.exception.EmailJaCadastradoException;
+import com.cadastro.exception.ServicoSaturadoException;
+import com.cadastro.reativo.service.UsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST reativo para gerenciar usuários
+ * 
+ * Mesmo contrato da api nos endpoints abaixo, com as mesmas mensagens de erro:
+ * - POST /usuarios - Cadastrar novo usuário
+ * - GET /usuarios/{id} - Buscar usuário por ID
+ * - GET /usuarios/email/{email} - Buscar usuário por email
+ * - GET /usuarios/stats/total - Total de usuários cadastrados
+ * - GET /usuarios - Listar usuários (paginado por cursor)
+ * - GET /usuarios/exportar - Exportar todos os usuários (NDJSON)
+ * - DELETE /usuarios/{id} - Deletar usuário
+ */
+@RestController
+@RequestMapping("/usuarios")
+@Slf4j
+public class UsuarioController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ValidadorCadastroUsuario validadorCadastro;
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    /**
+     * Cadastra um novo usuário
+     * 
+     * A validação é a mesma da api (ValidadorCadastroUsuario).
+     * 
+     * @param cadastroDTO dados do usuário
+     * @return Mono com a resposta: 201, 400 com os erros por campo, 409 ou 429
+     */
+    @PostMapping
+    public Mono<ResponseEntity<?>> cadastrarUsuario(@RequestBody CadastroUsuarioDTO cadastroDTO) {
+        Map<String, String> erros = validadorCadastro.validar(cadastroDTO);
+        if (!erros.isEmpty()) {
+            log.debug("Erros de validação no cadastro: {}", erros.keySet());
+            return Mono.just(ResponseEntity.badRequest().body(erros));
+        }
+
+        return usuarioService.cadastrarUsuario(cadastroDTO)
+                .<ResponseEntity<?>>map(usuario -> ResponseEntity.status(HttpStatus.CREATED).body(usuario))
+                .onErrorResume(EmailJaCadastradoException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(erro(e.getMessage()))))
+                .onErrorResume(ServicoSaturadoException.class, e -> {
+                    log.debug("Cadastro recusado por saturação: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body(erro(e.getMessage())));
+                })
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(erro(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Erro inesperado ao cadastrar usuário", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(erro("Erro ao cadastrar usuário")));
+                });
+    }
+
+    /**
+     * Busca um usuário pelo ID
+     * 
+     * @param id ID do usuário
+     * @return Mono com os dados do usuário, ou 404
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> buscarUsuarioPorId(@PathVariable Long id) {
+        return usuarioService.buscarUsuarioPorId(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro(e.getMessage()))));
+    }
+
+    /**
+     * Busca um usuário pelo email
+     * 
+     * @param email email do usuário
+     * @return Mono com os dados do usuário, ou 404
+     */
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<?>> buscarUsuarioPorEmail(@PathVariable String email) {
+        return usuarioService.buscarUsuarioPorEmail(email)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro(e.getMessage()))));
+    }
+
+    /**
+     * Lista os usuários cadastrados em páginas
+     * 
+     * @param cursor cursor opaco retornado pela página anterior
+     * @param limite quantidade máxima de usuários na página
+     * @param cidade filtro opcional por cidade
+     * @param estado filtro opcional por estado (sigla)
+     * @return Mono com a página de usuários e o próximo cursor
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> listarUsuarios(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String cidade,
+            @RequestParam(required = false) String estado) {
+        return usuarioService.listarUsuarios(cursor, limite, cidade, estado)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(erro(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Erro ao listar usuários", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(erro("Erro ao listar usuários")));
+                });
+    }
+
+    /**
+     * Exporta todos os usuários em NDJSON, um usuário por linha
+     * 
+     * O Flux é escrito na resposta conforme o cliente consome: as linhas só são lidas
+     * do banco quando há demanda, então a memória não cresce com o total de usuários.
+     * 
+     * @return Flux com os usuários em ordem de ID
+     */
+    @GetMapping(value = "/exportar", produces = NDJSON)
+    public Flux<UsuarioResponseDTO> exportarUsuarios() {
+        log.debug("Exportando usuários em ndjson");
+        return usuarioService.exportarUsuarios();
+    }
+
+    /**
+     * Retorna o total de usuários cadastrados
+     * 
+     * @return Mono com o total
+     */
+    @GetMapping("/stats/total")
+    public Mono<ResponseEntity<?>> obterTotalUsuarios() {
+        return usuarioService.contarUsuarios()
+                .<ResponseEntity<?>>map(total -> {
+                    Map<String, Long> resposta = new HashMap<>();
+                    resposta.put("total", total);
+                    return ResponseEntity.ok(resposta);
+                })
+                .onErrorResume(e -> {
+                    log.error("Erro ao obter total de usuários", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(erro("Erro ao obter total de usuários")));
+                });
+    }
+
+    /**
+     * Deleta um usuário
+     * 
+     * @param id ID do usuário a deletar
+     * @return Mono com mensagem de sucesso, ou 404
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deletarUsuario(@PathVariable Long id) {
+        return usuarioService.deletarUsuario(id)
+                .then(Mono.<ResponseEntity<?>>fromSupplier(() -> {
+                    Map<String, String> resposta = new HashMap<>();
+                    resposta.put("mensagem", "Usuário deletado com sucesso");
+                    return ResponseEntity.ok(resposta);
+                }))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Erro ao deletar usuário", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(erro("Erro ao deletar usuário")));
+                });
+    }
+
+    /**
+     * Health check do servidor
+     * 
+     * O health indicator do Actuator verifica a conexão com o banco; a chamada é bloqueante,
+     * então roda fora do event loop.
+     * 
+     * @return Mono com status OK, ou 503 se o banco estiver indisponível
+     */
+    @GetMapping("/health")
+    public Mono<ResponseEntity<?>> health() {
+        return Mono.fromCallable(healthEndpoint::health)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(saude -> {
+                    Map<String, String> resposta = new HashMap<>();
+                    if (Status.UP.equals(saude.getStatus())) {
+                        resposta.put("status", "OK");
+                        resposta.put("mensagem", "API de Cadastro de Usuários está funcionando");
+                        return ResponseEntity.ok(resposta);
+                    }
+                    log.warn("Health check com status {}", saude.getStatus());
+                    resposta.put("status", saude.getStatus().getCode());
+                    resposta.put("mensagem", "API de Cadastro de Usuários indisponível");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(resposta);
+                });
+    }
+
+    private static Map<String, String> erro(String mensagem) {
+        Map<String, String> erro = new HashMap<>();
+        erro.put("erro", mensagem);
+        return erro;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cadastro.reativo.entity;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da tabela usuarios mapeada pelo Spring Data R2DBC
+ * 
+ * Mesmo schema da entidade JPA da api (as colunas seguem o padrão snake_case dos
+ * nomes dos campos); o ID vem da sequence usuarios_seq e é atribuído antes do INSERT.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("usuarios")
+public class RegistroUsuario {
+
+    @Id
+    private Long id;
+    private String nome;
+    private String sobrenome;
+    private String email;
+    private String emailNormalizado;
+    private String senha;
+    private String cep;
+    private String rua;
+    private String numero;
+    private String complemento;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Cria o registro de um novo usuário a partir do DTO de cadastro
+     * 
+     * @param dto dados do cadastro
+     * @param id ID reservado na sequence
+     * @param hashSenha hash BCrypt da senha
+     */
+    public static RegistroUsuario novo(CadastroUsuarioDTO dto, long id, String hashSenha) {
+        return RegistroUsuario.builder()
+                .id(id)
+                .nome(dto.getNome())
+                .sobrenome(dto.getSobrenome())
+                .email(dto.getEmail())
+                .emailNormalizado(Usuario.normalizarEmail(dto.getEmail()))
+                .senha(hashSenha)
+                .cep(dto.getCep())
+                .rua(dto.getRua())
+                .numero(dto.getNumero())
+                .complemento(dto.getComplemento())
+                .bairro(dto.getBairro())
+                .cidade(dto.getCidade())
+                .estado(dto.getEstado())
+                .dataCriacao(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Converte o registro no DTO de resposta (sem a senha)
+     */
+    public UsuarioResponseDTO paraResposta() {
+        return UsuarioResponseDTO.builder()
+                .id(id)
+                .nome(nome)
+                .sobrenome(sobrenome)
+                .email(email)
+                .cep(cep)
+                .rua(rua)
+                .numero(numero)
+                .complemento(complemento)
+                .bairro(bairro)
+                .cidade(cidade)
+                .estado(estado)
+                .dataCriacao(dataCriacao)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cadastro.reativo.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gera os IDs de usuário a partir da sequence usuarios_seq
+ * 
+ * A sequence tem incremento 50 (o mesmo schema da api): cada valor lido reserva um bloco
+ * de 50 IDs, distribuídos em memória, então só um cadastro a cada 50 vai ao banco buscar ID.
+ */
+@Component
+public class SequenciaUsuarios {
+
+    private final DatabaseClient databaseClient;
+    private final int tamanhoBloco;
+    private long proximo;
+    private long limite;
+
+    public SequenciaUsuarios(DatabaseClient databaseClient,
+                             @Value("${usuarios.sequencia.tamanho-bloco:50}") int tamanhoBloco) {
+        this.databaseClient = databaseClient;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Reserva o próximo ID
+     */
+    public Mono<Long> proximoId() {
+        Long id = reservar();
+        if (id != null) {
+            return Mono.just(id);
+        }
+        return databaseClient.sql("select next value for usuarios_seq")
+                .map(linha -> linha.get(0, Long.class))
+                .one()
+                .map(inicio -> {
+                    synchronized (this) {
+                        // Outro cadastro pode ter renovado o bloco enquanto esta leitura acontecia
+                        if (proximo >= limite) {
+                            proximo = inicio;
+                            limite = inicio + tamanhoBloco;
+                        }
+                        return proximo++;
+                    }
+                });
+    }
+
+    private synchronized Long reservar() {
+        return proximo < limite ? proximo++ : null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.cadastro.reativo.repository;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.reativo.entity.RegistroUsuario;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositório reativo para acesso aos dados de usuário
+ * 
+ * As consultas da API selecionam só as colunas da resposta direto em UsuarioResponseDTO,
+ * sem a senha. Os resultados chegam como Flux: as linhas são lidas do banco conforme
+ * o consumidor pede (backpressure), sem montar a lista inteira em memória.
+ */
+@Repository
+public interface UsuarioRepository extends ReactiveCrudRepository<RegistroUsuario, Long> {
+
+    /**
+     * Colunas de UsuarioResponseDTO
+     */
+    String COLUNAS_DTO = "select id, nome, sobrenome, email, cep, rua, numero, complemento, bairro, "
+            + "cidade, estado, data_criacao, versao from usuarios ";
+
+    /**
+     * Busca os dados de resposta de um usuário pelo ID
+     */
+    @Query(COLUNAS_DTO + "where id = :id")
+    Mono<UsuarioResponseDTO> findDtoById(Long id);
+
+    /**
+     * Busca os dados de resposta de um usuário pelo email normalizado
+     */
+    @Query(COLUNAS_DTO + "where email_normalizado = :email")
+    Mono<UsuarioResponseDTO> findDtoByEmailNormalizado(String email);
+
+    /**
+     * Busca a próxima página de usuários após o ID informado (paginação por chave)
+     */
+    @Query(COLUNAS_DTO + "where id > :id order by id limit :limite")
+    Flux<UsuarioResponseDTO> findDtosAposId(long id, int limite);
+
+    /**
+     * Busca a próxima página de usuários de uma cidade após o ID informado
+     */
+    @Query(COLUNAS_DTO + "where cidade = :cidade and id > :id order by id limit :limite")
+    Flux<UsuarioResponseDTO> findDtosPorCidadeAposId(String cidade, long id, int limite);
+
+    /**
+     * Busca a próxima página de usuários de um estado após o ID informado
+     */
+    @Query(COLUNAS_DTO + "where estado = :estado and id > :id order by id limit :limite")
+    Flux<UsuarioResponseDTO> findDtosPorEstadoAposId(String estado, long id, int limite);
+
+    /**
+     * Busca a próxima página de usuários de uma cidade e estado após o ID informado
+     */
+    @Query(COLUNAS_DTO + "where cidade = :cidade and estado = :estado and id > :id order by id limit :limite")
+    Flux<UsuarioResponseDTO> findDtosPorCidadeEstadoAposId(String cidade, String estado, long id, int limite);
+
+    /**
+     * Percorre todos os usuários em ordem de ID
+     */
+    @Query(COLUNAS_DTO + "order by id")
+    Flux<UsuarioResponseDTO> streamAllDtos();
+}
@@ -0,0 +1,69 @@
+package com.cadastro.reativo.service;
+
+import com.cadastro.exception.ServicoSaturadoException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hash de senhas (BCrypt) fora do event loop
+ * 
+ * O BCrypt bloquearia as threads do Netty; aqui ele roda em um scheduler próprio
+ * (por padrão uma thread por núcleo). Como na api, a capacidade da etapa (threads + fila)
+ * é limitada por um semáforo e, quando cheia, o cadastro é recusado na hora (429).
+ */
+@Service
+@Slf4j
+public class HashSenhaService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final Scheduler scheduler;
+    private final Semaphore vagas;
+    private final Duration timeout;
+
+    public HashSenhaService(@Value("${usuarios.senha.custo:10}") int custo,
+                            @Value("${usuarios.senha.threads:0}") int threads,
+                            @Value("${usuarios.senha.fila:64}") int fila,
+                            @Value("${usuarios.senha.timeout:10s}") Duration timeout) {
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.encoder = new BCryptPasswordEncoder(custo);
+        this.scheduler = Schedulers.newParallel("hash-senha", quantidadeThreads, true);
+        this.vagas = new Semaphore(quantidadeThreads + fila);
+        this.timeout = timeout;
+        log.info("Hash de senhas com BCrypt custo {} em {} threads (fila {})", custo, quantidadeThreads, fila);
+    }
+
+    /**
+     * Gera o hash de uma senha, recusando o pedido se a etapa estiver saturada
+     * 
+     * @return Mono com o hash, ou erro ServicoSaturadoException sem vaga ou por timeout
+     */
+    public Mono<String> gerarHash(String senha) {
+        return Mono.defer(() -> {
+            if (!vagas.tryAcquire()) {
+                return Mono.error(new ServicoSaturadoException(
+                        "Muitos cadastros em andamento. Tente novamente em instantes"));
+            }
+            return Mono.fromCallable(() -> encoder.encode(senha))
+                    .subscribeOn(scheduler)
+                    .timeout(timeout)
+                    .onErrorMap(TimeoutException.class,
+                            e -> new ServicoSaturadoException("Tempo esgotado aguardando o hash da senha"))
+                    .doFinally(sinal -> vagas.release());
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        scheduler.dispose();
+    }
+}
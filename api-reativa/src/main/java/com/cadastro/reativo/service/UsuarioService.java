@@ -0,0 +1,192 @@
+package com.cadastro.reativo.service;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.CursorPaginacao;
+import com.cadastro.dto.PaginaUsuariosDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.exception.EmailJaCadastradoException;
+import com.cadastro.reativo.entity.RegistroUsuario;
+import com.cadastro.reativo.repository.SequenciaUsuarios;
+import com.cadastro.reativo.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serviço reativo para lógica de negócio de usuário
+ * 
+ * Mesmas regras da api: duplicidade de email detectada pela constraint unique do email
+ * normalizado, hash da senha fora das threads de requisição e listagem paginada por
+ * cursor. As operações de banco rodam no schedulerBanco (veja BancoConfig), nunca
+ * nas threads do event loop.
+ */
+@Service
+@Slf4j
+public class UsuarioService {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private SequenciaUsuarios sequenciaUsuarios;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private HashSenhaService hashSenhaService;
+
+    @Autowired
+    private Scheduler schedulerBanco;
+
+    @Value("${usuarios.paginacao.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${usuarios.paginacao.tamanho-maximo:100}")
+    private int tamanhoPaginaMaximo;
+
+    /**
+     * Cadastra um novo usuário
+     * 
+     * @param cadastroDTO dados do usuário já validados
+     * @return Mono com os dados do usuário cadastrado; erro EmailJaCadastradoException
+     *         se o email já existe ou ServicoSaturadoException se o hash estiver saturado
+     */
+    public Mono<UsuarioResponseDTO> cadastrarUsuario(CadastroUsuarioDTO cadastroDTO) {
+        return hashSenhaService.gerarHash(cadastroDTO.getSenha())
+                .zipWith(sequenciaUsuarios.proximoId().subscribeOn(schedulerBanco))
+                // O INSERT sempre é explícito: o ID já vem preenchido da sequence
+                .flatMap(hashEId -> template.insert(
+                        RegistroUsuario.novo(cadastroDTO, hashEId.getT2(), hashEId.getT1()))
+                        .subscribeOn(schedulerBanco))
+                .onErrorMap(this::violouEmailUnico, e -> new EmailJaCadastradoException())
+                .map(RegistroUsuario::paraResposta)
+                .doOnNext(usuario -> log.debug("Usuário cadastrado com sucesso. ID: {}", usuario.getId()));
+    }
+
+    /**
+     * Busca um usuário pelo ID
+     * 
+     * @return Mono com o usuário; erro IllegalArgumentException se não for encontrado
+     */
+    public Mono<UsuarioResponseDTO> buscarUsuarioPorId(Long id) {
+        return usuarioRepository.findDtoById(id)
+                .subscribeOn(schedulerBanco)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Usuário não encontrado")));
+    }
+
+    /**
+     * Busca um usuário pelo email
+     * 
+     * @return Mono com o usuário; erro IllegalArgumentException se não for encontrado
+     */
+    public Mono<UsuarioResponseDTO> buscarUsuarioPorEmail(String email) {
+        return usuarioRepository.findDtoByEmailNormalizado(Usuario.normalizarEmail(email))
+                .subscribeOn(schedulerBanco)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Usuário não encontrado")));
+    }
+
+    /**
+     * Lista os usuários em páginas, usando paginação por chave (keyset) sobre o ID
+     * 
+     * @return Mono com a página e o cursor da próxima; erro IllegalArgumentException
+     *         se o cursor ou o limite forem inválidos
+     */
+    public Mono<PaginaUsuariosDTO> listarUsuarios(String cursor, Integer limite, String cidade, String estado) {
+        return Mono.defer(() -> {
+            long aposId = CursorPaginacao.decodificar(cursor);
+            int tamanho = limite == null ? tamanhoPaginaPadrao : limite;
+            if (tamanho < 1) {
+                return Mono.error(new IllegalArgumentException("Limite deve ser maior que zero"));
+            }
+            int tamanhoPagina = Math.min(tamanho, tamanhoPaginaMaximo);
+
+            // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+            Flux<UsuarioResponseDTO> usuarios;
+            if (temValor(cidade) && temValor(estado)) {
+                usuarios = usuarioRepository.findDtosPorCidadeEstadoAposId(cidade, estado, aposId, tamanhoPagina + 1);
+            } else if (temValor(cidade)) {
+                usuarios = usuarioRepository.findDtosPorCidadeAposId(cidade, aposId, tamanhoPagina + 1);
+            } else if (temValor(estado)) {
+                usuarios = usuarioRepository.findDtosPorEstadoAposId(estado, aposId, tamanhoPagina + 1);
+            } else {
+                usuarios = usuarioRepository.findDtosAposId(aposId, tamanhoPagina + 1);
+            }
+
+            return usuarios.collectList()
+                    .subscribeOn(schedulerBanco)
+                    .map(lista -> pagina(lista, tamanhoPagina));
+        });
+    }
+
+    /**
+     * Percorre todos os usuários em ordem de ID, lidos do banco conforme a demanda do cliente
+     */
+    public Flux<UsuarioResponseDTO> exportarUsuarios() {
+        return usuarioRepository.streamAllDtos().subscribeOn(schedulerBanco);
+    }
+
+    /**
+     * Retorna o total de usuários cadastrados
+     */
+    public Mono<Long> contarUsuarios() {
+        return usuarioRepository.count().subscribeOn(schedulerBanco);
+    }
+
+    /**
+     * Deleta um usuário
+     * 
+     * @return Mono vazio; erro IllegalArgumentException se o usuário não for encontrado
+     */
+    public Mono<Void> deletarUsuario(Long id) {
+        return usuarioRepository.existsById(id)
+                .flatMap(existe -> existe
+                        ? usuarioRepository.deleteById(id)
+                        : Mono.error(new IllegalArgumentException("Usuário não encontrado")))
+                .subscribeOn(schedulerBanco)
+                .doOnSuccess(v -> log.info("Usuário deletado com sucesso. ID: {}", id));
+    }
+
+    private static PaginaUsuariosDTO pagina(List<UsuarioResponseDTO> usuarios, int tamanho) {
+        boolean temProxima = usuarios.size() > tamanho;
+        List<UsuarioResponseDTO> conteudo = temProxima ? usuarios.subList(0, tamanho) : usuarios;
+        String proximoCursor = temProxima
+                ? CursorPaginacao.codificar(conteudo.get(conteudo.size() - 1).getId())
+                : null;
+        return PaginaUsuariosDTO.builder()
+                .usuarios(conteudo)
+                .quantidade(conteudo.size())
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
+    /**
+     * Verifica se o erro foi causado pela constraint unique do email
+     */
+    private boolean violouEmailUnico(Throwable erro) {
+        if (!(erro instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            String mensagem = causa.getMessage();
+            if (mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(Usuario.CONSTRAINT_EMAIL_UNICO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean temValor(String valor) {
+        return valor != null && !valor.trim().isEmpty();
+    }
+}
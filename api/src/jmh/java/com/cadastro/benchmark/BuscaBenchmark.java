@@ -0,0 +1,80 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.busca.IndiceBusca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da busca no índice invertido com um milhão de usuários sintéticos
+ * 
+ * Em modo SampleTime o JMH reporta os percentis (p50, p99, p99.9) de cada consulta.
+ * Os nomes, sobrenomes e cidades vêm de listas curtas, então termos como "silva" e
+ * "sao" aparecem em dezenas de milhares de usuários (o pior caso da paginação por
+ * relevância); o email tem um número único, como nos cadastros reais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class BuscaBenchmark {
+
+    private static final int USUARIOS = 1_000_000;
+
+    private static final String[] NOMES = {"João", "Maria", "José", "Ana", "Pedro", "Paula", "Lucas", "Júlia",
+            "Carlos", "Fernanda", "Marcos", "Juliana", "Rafael", "Camila", "Gabriel", "Letícia", "Bruno",
+            "Beatriz", "Felipe", "Larissa", "Mateus", "Mariana", "Gustavo", "Aline", "André", "Patrícia",
+            "Rodrigo", "Vanessa", "Thiago", "Renata", "Diego", "Cláudia", "Eduardo", "Sandra", "Vinícius",
+            "Simone", "Leonardo", "Débora", "Ricardo", "Luíza"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira",
+            "Nunes", "Marques", "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana",
+            "Teixeira", "Araújo", "Pinto", "Correia", "Moura", "Conceição"};
+    private static final String[] CIDADES = {"São Paulo", "Rio de Janeiro", "Belo Horizonte", "Salvador",
+            "Fortaleza", "Curitiba", "Recife", "Porto Alegre", "Manaus", "Belém", "Goiânia", "Campinas",
+            "São Luís", "São Gonçalo", "Maceió", "Duque de Caxias", "Natal", "Teresina", "Campo Grande",
+            "São Bernardo do Campo", "João Pessoa", "Osasco", "Santo André", "Ribeirão Preto", "Jaboatão",
+            "Uberlândia", "Sorocaba", "Contagem", "Aracaju", "Feira de Santana"};
+    private static final String[] DOMINIOS = {"gmail.com", "hotmail.com", "outlook.com", "yahoo.com.br",
+            "uol.com.br", "example.com"};
+
+    @Param({"silva", "joao silva", "sao paulo", "ma", "vinicius conceicao curitiba", "joao.silva123"})
+    private String consulta;
+
+    private IndiceBusca indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndiceBusca(2, 100_000);
+        Random aleatorio = new Random(42);
+        for (int i = 1; i <= USUARIOS; i++) {
+            String nome = NOMES[aleatorio.nextInt(NOMES.length)];
+            String sobrenome = SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+            String email = IndiceBusca.normalizar(nome).get(0) + "." + IndiceBusca.normalizar(sobrenome).get(0)
+                    + i + "@" + DOMINIOS[aleatorio.nextInt(DOMINIOS.length)];
+            indice.adicionar(i, nome, sobrenome, email, CIDADES[aleatorio.nextInt(CIDADES.length)]);
+        }
+    }
+
+    @Benchmark
+    public IndiceBusca.ResultadoBusca primeiraPagina() {
+        return indice.buscar(consulta, 0, 20);
+    }
+}
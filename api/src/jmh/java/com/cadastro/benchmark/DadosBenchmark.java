@@ -0,0 +1,43 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.entity.Usuario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados de exemplo compartilhados pelos benchmarks
+ */
+final class DadosBenchmark {
+
+    /**
+     * Hash BCrypt de exemplo (custo 10); os benchmarks de mapeamento não verificam a senha
+     */
+    static final String HASH_SENHA = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3QXqvVFkL5p6Pjz3bX5i8YW";
+
+    private DadosBenchmark() {
+    }
+
+    static CadastroUsuarioDTO cadastro(String email) {
+        return CadastroUsuarioDTO.builder()
+                .nome("João")
+                .sobrenome("Silva")
+                .email(email)
+                .senha("senha123")
+                .cep("01310-100")
+                .rua("Avenida Paulista")
+                .numero("1000")
+                .complemento("Apto 101")
+                .bairro("Bela Vista")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+    }
+
+    static Usuario usuario(long id) {
+        Usuario usuario = cadastro("usuario" + id + "@example.com").toEntity(HASH_SENHA);
+        usuario.setId(id);
+        usuario.setDataCriacao(LocalDateTime.of(2025, 12, 4, 7, 27, 59));
+        return usuario;
+    }
+}
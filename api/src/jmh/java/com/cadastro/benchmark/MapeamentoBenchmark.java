@@ -0,0 +1,45 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidade para DTO e formatação do endereço
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    private Usuario usuario;
+
+    @Setup
+    public void preparar() {
+        usuario = DadosBenchmark.usuario(1L);
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO fromEntity() {
+        return UsuarioResponseDTO.fromEntity(usuario);
+    }
+
+    @Benchmark
+    public String enderecoCompleto() {
+        return usuario.getEnderecoCompleto();
+    }
+}
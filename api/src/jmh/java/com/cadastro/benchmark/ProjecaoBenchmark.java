@@ -0,0 +1,123 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.CadastroUsuarioApiApplication;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.repository.UsuarioRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura por email e de uma página de 20 usuários: entidade completa + fromEntity
+ * (como era feito antes) contra a projeção direta em UsuarioResponseDTO
+ * 
+ * Para medir alocação por operação, rode com o profiler de GC do JMH:
+ * mvn -Pbenchmark exec:exec@jmh -Djmh.args="Projecao -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjecaoBenchmark {
+
+    private static final int USUARIOS_INICIAIS = 10_000;
+    private static final int TAMANHO_PAGINA = 20;
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioRepository usuarioRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(CadastroUsuarioApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:projecao;DB_CLOSE_DELAY=-1",
+                        "usuarios.filtro-email.habilitado=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.cadastro=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        List<Usuario> usuarios = new ArrayList<>(USUARIOS_INICIAIS);
+        for (int i = 1; i <= USUARIOS_INICIAIS; i++) {
+            usuarios.add(DadosBenchmark.cadastro(email(i)).toEntity(DadosBenchmark.HASH_SENHA));
+        }
+        usuarioRepository.saveAll(usuarios);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<UsuarioResponseDTO> porEmailEntidade() {
+        String email = email(ThreadLocalRandom.current().nextInt(1, USUARIOS_INICIAIS + 1));
+        return transacao.execute(status -> entityManager
+                .createQuery("select u from Usuario u where u.emailNormalizado = :email", Usuario.class)
+                .setParameter("email", email)
+                .getResultList().stream()
+                .findFirst()
+                .map(UsuarioResponseDTO::fromEntity));
+    }
+
+    @Benchmark
+    public Optional<UsuarioResponseDTO> porEmailProjecao() {
+        String email = email(ThreadLocalRandom.current().nextInt(1, USUARIOS_INICIAIS + 1));
+        return usuarioRepository.findDtoByEmailNormalizado(email);
+    }
+
+    @Benchmark
+    public List<UsuarioResponseDTO> paginaEntidade() {
+        long aposId = ThreadLocalRandom.current().nextInt(0, USUARIOS_INICIAIS - TAMANHO_PAGINA);
+        return transacao.execute(status -> entityManager
+                .createQuery("select u from Usuario u where u.id > :id order by u.id", Usuario.class)
+                .setParameter("id", aposId)
+                .setMaxResults(TAMANHO_PAGINA)
+                .getResultList().stream()
+                .map(UsuarioResponseDTO::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<UsuarioResponseDTO> paginaProjecao() {
+        long aposId = ThreadLocalRandom.current().nextInt(0, USUARIOS_INICIAIS - TAMANHO_PAGINA);
+        return usuarioRepository.findDtosAposId(aposId, PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    private static String email(int n) {
+        return "usuario" + n + "@example.com";
+    }
+}
@@ -0,0 +1,132 @@
+package com.cadastro.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga em malha fechada contra uma instância da API em execução
+ * 
+ * Cada cliente envia uma requisição, espera a resposta e envia a próxima. Ao final
+ * imprime vazão, latências p50/p99/p999 e a contagem de respostas por status.
+ * 
+ * Uso: mvn -Pbenchmark exec:java -Dexec.mainClass=com.cadastro.benchmark.TesteCarga
+ *      -Dexec.args="[url] [clientes] [segundos] [cenario]"
+ * 
+ * Cenários: leitura (GET /usuarios/{id}), cadastro (POST /usuarios) e misto (90% leitura).
+ */
+public class TesteCarga {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong(System.currentTimeMillis());
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/api";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String cenario = args.length > 3 ? args[3] : "misto";
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Base mínima para as leituras
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            HttpResponse<String> resposta = http.send(cadastro(url), HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() == 201) {
+                String corpo = resposta.body();
+                int inicio = corpo.indexOf("\"id\":") + 5;
+                ids.add(Long.parseLong(corpo.substring(inicio, corpo.indexOf(',', inicio))));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Não foi possível cadastrar usuários iniciais em " + url);
+        }
+
+        Map<Integer, LongAdder> porStatus = new ConcurrentHashMap<>();
+        long[][] latencias = new long[clientes][];
+        int[] quantidades = new int[clientes];
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+
+        Thread[] threads = new Thread[clientes];
+        for (int c = 0; c < clientes; c++) {
+            final int cliente = c;
+            threads[c] = new Thread(() -> {
+                long[] medidas = new long[1024];
+                int n = 0;
+                while (System.nanoTime() < fim) {
+                    boolean leitura = "leitura".equals(cenario)
+                            || ("misto".equals(cenario) && ThreadLocalRandom.current().nextInt(10) != 0);
+                    HttpRequest requisicao = leitura
+                            ? HttpRequest.newBuilder(URI.create(url + "/usuarios/"
+                            + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))).GET().build()
+                            : cadastro(url);
+                    long inicio = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (n == medidas.length) {
+                        medidas = Arrays.copyOf(medidas, n * 2);
+                    }
+                    medidas[n++] = System.nanoTime() - inicio;
+                    porStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+                }
+                latencias[cliente] = medidas;
+                quantidades[cliente] = n;
+            });
+            threads[c].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = Arrays.stream(quantidades).sum();
+        long[] todas = new long[total];
+        int posicao = 0;
+        for (int c = 0; c < clientes; c++) {
+            System.arraycopy(latencias[c], 0, todas, posicao, quantidades[c]);
+            posicao += quantidades[c];
+        }
+        Arrays.sort(todas);
+
+        System.out.printf("cenario=%s clientes=%d duracao=%ds%n", cenario, clientes, segundos);
+        System.out.printf("requisicoes=%d vazao=%.1f req/s%n", total, (double) total / segundos);
+        System.out.printf("p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999), percentil(todas, 1.0));
+        System.out.println("status=" + new TreeMap<>(porStatus));
+    }
+
+    private static HttpRequest cadastro(String url) {
+        String email = "carga" + SEQUENCIA.incrementAndGet() + "@example.com";
+        String corpo = "{\"nome\":\"João\",\"sobrenome\":\"Silva\",\"email\":\"" + email + "\","
+                + "\"senha\":\"senha123\",\"cep\":\"01310-100\",\"rua\":\"Avenida Paulista\","
+                + "\"numero\":\"1000\",\"bairro\":\"Bela Vista\",\"cidade\":\"São Paulo\",\"estado\":\"SP\"}";
+        return HttpRequest.newBuilder(URI.create(url + "/usuarios"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.CadastroUsuarioApiApplication;
+import com.cadastro.dto.PaginaUsuariosDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.service.UsuarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chamadas de ponta a ponta ao UsuarioService contra o H2 embutido
+ * 
+ * O contexto Spring sobe sem servidor web e a base é populada antes das medições.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsuarioServiceBenchmark {
+
+    private static final int USUARIOS_INICIAIS = 10_000;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private ConfigurableApplicationContext contexto;
+    private UsuarioService usuarioService;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(CadastroUsuarioApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "usuarios.cache.habilitado=" + cache,
+                        // Custo mínimo do BCrypt: aqui interessa o caminho do serviço, não o hash
+                        "usuarios.senha.custo=4",
+                        "logging.level.root=WARN",
+                        "logging.level.com.cadastro=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        usuarioService = contexto.getBean(UsuarioService.class);
+        for (int i = 0; i < USUARIOS_INICIAIS; i++) {
+            usuarioService.cadastrarUsuario(DadosBenchmark.cadastro(novoEmail()));
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO buscarPorId() {
+        return usuarioService.buscarUsuarioPorId(ThreadLocalRandom.current().nextLong(1, USUARIOS_INICIAIS + 1));
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO buscarPorEmail() {
+        long n = ThreadLocalRandom.current().nextLong(1, USUARIOS_INICIAIS + 1);
+        return usuarioService.buscarUsuarioPorEmail("usuario" + n + "@example.com");
+    }
+
+    @Benchmark
+    public PaginaUsuariosDTO listarPrimeiraPagina() {
+        return usuarioService.listarUsuarios(null, 20, null, null);
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO cadastrar() {
+        return usuarioService.cadastrarUsuario(DadosBenchmark.cadastro(novoEmail()));
+    }
+
+    private String novoEmail() {
+        return "usuario" + sequencia.incrementAndGet() + "@example.com";
+    }
+}
@@ -0,0 +1,224 @@
+package com.cadastro.benchmark;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de um cadastro: ValidadorCadastroUsuario contra Bean Validation
+ * 
+ * O Bean Validation é medido com cópias anotadas do DTO e da entidade como eram antes
+ * (as anotações saíram das classes da aplicação): o DTO era validado no controlador e a
+ * entidade de novo no persist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ValidadorCadastroUsuario validador;
+    private ValidadorCadastroUsuario validadorFalharRapido;
+    private CadastroUsuarioDTO valido;
+    private CadastroUsuarioDTO invalido;
+    private CadastroAnotado validoAnotado;
+    private CadastroAnotado invalidoAnotado;
+    private UsuarioAnotado entidadeAnotada;
+
+    @Setup
+    public void preparar() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validador = new ValidadorCadastroUsuario(false);
+        validadorFalharRapido = new ValidadorCadastroUsuario(true);
+        valido = DadosBenchmark.cadastro("joao.silva@example.com");
+        invalido = DadosBenchmark.cadastro("email-invalido");
+        invalido.setCep("123");
+        invalido.setEstado("sp");
+        validoAnotado = new CadastroAnotado(valido);
+        invalidoAnotado = new CadastroAnotado(invalido);
+        entidadeAnotada = new UsuarioAnotado(valido);
+    }
+
+    @TearDown
+    public void encerrar() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CadastroAnotado>> beanValidationValido() {
+        return validator.validate(validoAnotado);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CadastroAnotado>> beanValidationInvalido() {
+        return validator.validate(invalidoAnotado);
+    }
+
+    /**
+     * Custo total de um cadastro válido antes: DTO no controlador e entidade no persist
+     */
+    @Benchmark
+    public void beanValidationDtoEEntidade(Blackhole blackhole) {
+        blackhole.consume(validator.validate(validoAnotado));
+        blackhole.consume(validator.validate(entidadeAnotada));
+    }
+
+    @Benchmark
+    public Map<String, String> validadorValido() {
+        return validador.validar(valido);
+    }
+
+    @Benchmark
+    public Map<String, String> validadorInvalido() {
+        return validador.validar(invalido);
+    }
+
+    @Benchmark
+    public Map<String, String> validadorInvalidoFalharRapido() {
+        return validadorFalharRapido.validar(invalido);
+    }
+
+    /**
+     * CadastroUsuarioDTO com as anotações de Bean Validation que ele tinha
+     */
+    public static class CadastroAnotado {
+
+        @NotBlank(message = "Nome é obrigatório")
+        @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
+        private final String nome;
+
+        @NotBlank(message = "Sobrenome é obrigatório")
+        @Size(min = 3, max = 100, message = "Sobrenome deve ter entre 3 e 100 caracteres")
+        private final String sobrenome;
+
+        @NotBlank(message = "Email é obrigatório")
+        @Email(message = "Email deve ser válido")
+        private final String email;
+
+        @NotBlank(message = "Senha é obrigatória")
+        @Size(min = 6, message = "Senha deve ter no mínimo 6 caracteres")
+        private final String senha;
+
+        @NotBlank(message = "CEP é obrigatório")
+        @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve estar no formato 00000-000")
+        private final String cep;
+
+        @NotBlank(message = "Rua é obrigatória")
+        @Size(min = 3, message = "Rua deve ter no mínimo 3 caracteres")
+        private final String rua;
+
+        @NotBlank(message = "Número é obrigatório")
+        @Pattern(regexp = "^\\d+$", message = "Número deve conter apenas dígitos")
+        private final String numero;
+
+        private final String complemento;
+
+        @NotBlank(message = "Bairro é obrigatório")
+        @Size(min = 2, message = "Bairro deve ter no mínimo 2 caracteres")
+        private final String bairro;
+
+        @NotBlank(message = "Cidade é obrigatória")
+        @Size(min = 2, message = "Cidade deve ter no mínimo 2 caracteres")
+        private final String cidade;
+
+        @NotBlank(message = "Estado é obrigatório")
+        @Pattern(regexp = "^[A-Z]{2}$", message = "Estado deve ser uma sigla (ex: SP)")
+        private final String estado;
+
+        CadastroAnotado(CadastroUsuarioDTO dto) {
+            nome = dto.getNome();
+            sobrenome = dto.getSobrenome();
+            email = dto.getEmail();
+            senha = dto.getSenha();
+            cep = dto.getCep();
+            rua = dto.getRua();
+            numero = dto.getNumero();
+            complemento = dto.getComplemento();
+            bairro = dto.getBairro();
+            cidade = dto.getCidade();
+            estado = dto.getEstado();
+        }
+    }
+
+    /**
+     * Entidade Usuario com as anotações de Bean Validation que ela tinha
+     */
+    public static class UsuarioAnotado {
+
+        @NotBlank(message = "Nome é obrigatório")
+        @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
+        private final String nome;
+
+        @NotBlank(message = "Sobrenome é obrigatório")
+        @Size(min = 3, max = 100, message = "Sobrenome deve ter entre 3 e 100 caracteres")
+        private final String sobrenome;
+
+        @NotBlank(message = "Email é obrigatório")
+        @Email(message = "Email deve ser válido")
+        private final String email;
+
+        @NotBlank(message = "Senha é obrigatória")
+        @Size(min = 6, message = "Senha deve ter no mínimo 6 caracteres")
+        private final String senha;
+
+        @NotBlank(message = "CEP é obrigatório")
+        private final String cep;
+
+        @NotBlank(message = "Rua é obrigatória")
+        private final String rua;
+
+        @NotBlank(message = "Número é obrigatório")
+        private final String numero;
+
+        @NotBlank(message = "Bairro é obrigatório")
+        private final String bairro;
+
+        @NotBlank(message = "Cidade é obrigatória")
+        private final String cidade;
+
+        @NotBlank(message = "Estado é obrigatório")
+        @Size(min = 2, max = 2, message = "Estado deve ser uma sigla (ex: SP)")
+        private final String estado;
+
+        UsuarioAnotado(CadastroUsuarioDTO dto) {
+            nome = dto.getNome();
+            sobrenome = dto.getSobrenome();
+            email = dto.getEmail();
+            senha = DadosBenchmark.HASH_SENHA;
+            cep = dto.getCep();
+            rua = dto.getRua();
+            numero = dto.getNumero();
+            bairro = dto.getBairro();
+            cidade = dto.getCidade();
+            estado = dto.getEstado();
+        }
+    }
+}
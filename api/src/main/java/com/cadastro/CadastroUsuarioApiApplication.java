@@ -1,8 +1,11 @@
 package com.cadastro;
 
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -15,12 +18,22 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * - Persistência em banco de dados H2
  */
 @SpringBootApplication
+@EnableScheduling
 public class CadastroUsuarioApiApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(CadastroUsuarioApiApplication.class, args);
     }
 
+    /**
+     * Validação do cadastro (individual e em lote)
+     */
+    @Bean
+    public ValidadorCadastroUsuario validadorCadastroUsuario(
+            @Value("${usuarios.validacao.falhar-rapido:false}") boolean falharRapido) {
+        return new ValidadorCadastroUsuario(falharRapido);
+    }
+
     /**
      * Configuração de CORS para permitir requisições do frontend
      */
@@ -35,6 +48,12 @@ public class CadastroUsuarioApiApplication {
                         .allowedHeaders("*")
                         .allowCredentials(false)
                         .maxAge(3600);
+                registry.addMapping("/cep/**")
+                        .allowedOrigins("*")
+                        .allowedMethods("GET", "OPTIONS")
+                        .allowedHeaders("*")
+                        .allowCredentials(false)
+                        .maxAge(3600);
             }
         };
     }
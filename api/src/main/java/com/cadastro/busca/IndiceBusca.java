@@ -0,0 +1,575 @@
+package com.cadastro.busca;
+
+import com.cadastro.entity.Usuario;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para busca de usuários por nome, sobrenome, email e cidade
+ * 
+ * Os textos são normalizados (sem acentos, minúsculas) e quebrados em termos; cada termo
+ * aponta para os IDs dos usuários que o contêm e o peso do campo onde aparece. Os termos
+ * ficam ordenados, então uma busca por prefixo é uma faixa do mapa. A consulta percorre
+ * só vetores de IDs e uma tabela de candidatos sem boxing, sem visitar os objetos de
+ * cada usuário, o que mantém a latência estável com milhões de usuários.
+ * 
+ * Relevância: soma, para cada termo da consulta, do melhor termo do usuário que o atende,
+ * com peso pelo campo (nome/sobrenome 3, email 2, cidade 1) e em dobro se for igual ao termo.
+ * 
+ * Seguro para uso concorrente: consultas não bloqueiam inclusões e remoções de outros termos.
+ */
+public class IndiceBusca {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * Prefixo dos termos de email completo, para que não caiam na faixa de prefixos de nomes
+     */
+    private static final String PREFIXO_EMAIL = "@";
+
+    private static final byte PESO_NOME = 3;
+    private static final byte PESO_EMAIL = 2;
+    private static final byte PESO_CIDADE = 1;
+
+    /**
+     * Bits do ID na chave de ordenação dos resultados; a pontuação ocupa os bits acima
+     */
+    private static final int BITS_ID = 40;
+    private static final long MASCARA_ID = (1L << BITS_ID) - 1;
+
+    private final ConcurrentSkipListMap<String, ListaIds> termos = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, String[]> termosPorDocumento = new ConcurrentHashMap<>();
+    private final int tamanhoMinimoTermo;
+    private final int maximoCandidatos;
+
+    /**
+     * @param tamanhoMinimoTermo termos da consulta mais curtos que isso são ignorados
+     * @param maximoCandidatos limite de usuários avaliados por consulta; acima dele o resultado é aproximado
+     */
+    public IndiceBusca(int tamanhoMinimoTermo, int maximoCandidatos) {
+        this.tamanhoMinimoTermo = tamanhoMinimoTermo;
+        this.maximoCandidatos = maximoCandidatos;
+    }
+
+    /**
+     * Indexa um usuário; não faz nada se o ID já estiver no índice
+     */
+    public void adicionar(long id, String nome, String sobrenome, String email, String cidade) {
+        if (id <= 0 || id > MASCARA_ID) {
+            throw new IllegalArgumentException("ID fora do intervalo indexável: " + id);
+        }
+        Map<String, Byte> pesos = new LinkedHashMap<>();
+        adicionarTermos(pesos, nome, PESO_NOME);
+        adicionarTermos(pesos, sobrenome, PESO_NOME);
+        adicionarTermos(pesos, email, PESO_EMAIL);
+        adicionarTermos(pesos, cidade, PESO_CIDADE);
+        String emailCompleto = Usuario.normalizarEmail(email);
+        if (emailCompleto != null && !emailCompleto.isEmpty()) {
+            pesos.merge(PREFIXO_EMAIL + emailCompleto, PESO_EMAIL, (a, b) -> (byte) Math.max(a, b));
+        }
+
+        String[] termosDocumento = new String[pesos.size()];
+        if (termosPorDocumento.putIfAbsent(id, termosDocumento) != null) {
+            return;
+        }
+        int i = 0;
+        for (Map.Entry<String, Byte> termo : pesos.entrySet()) {
+            // Guarda a instância do termo que está no mapa, compartilhada entre os usuários
+            termosDocumento[i++] = incluirPostagem(termo.getKey(), id, termo.getValue());
+        }
+    }
+
+    /**
+     * Remove um usuário do índice
+     */
+    public void remover(long id) {
+        String[] termosDocumento = termosPorDocumento.remove(id);
+        if (termosDocumento == null) {
+            return;
+        }
+        for (String termo : termosDocumento) {
+            ListaIds lista = termo == null ? null : termos.get(termo);
+            if (lista != null && lista.remover(id)) {
+                termos.remove(termo, lista);
+            }
+        }
+    }
+
+    /**
+     * Busca usuários com termos começando por cada termo da consulta
+     * 
+     * @param consulta texto livre; termos com @ são comparados com o email completo
+     * @param inicio posição do primeiro resultado (paginação)
+     * @param quantidade quantidade máxima de resultados
+     * @return IDs em ordem de relevância (e de ID no empate) e o total encontrado
+     * @throws IllegalArgumentException se nenhum termo tiver o tamanho mínimo
+     */
+    public ResultadoBusca buscar(String consulta, int inicio, int quantidade) {
+        List<String> termosConsulta = termosConsulta(consulta);
+        if (termosConsulta.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Informe ao menos " + tamanhoMinimoTermo + " caracteres para a busca");
+        }
+
+        // Os candidatos vêm do termo mais seletivo; os outros só pontuam quem já é candidato
+        int maisSeletivo = 0;
+        long menorTotal = Long.MAX_VALUE;
+        for (int i = 0; i < termosConsulta.size(); i++) {
+            long total = contarAte(termosConsulta.get(i), menorTotal);
+            if (total < menorTotal) {
+                menorTotal = total;
+                maisSeletivo = i;
+            }
+        }
+        Collections.swap(termosConsulta, 0, maisSeletivo);
+
+        TabelaCandidatos candidatos = new TabelaCandidatos((int) Math.min(menorTotal, maximoCandidatos));
+        boolean aproximado = false;
+        for (int i = 0; i < termosConsulta.size(); i++) {
+            String termo = termosConsulta.get(i);
+            for (ListaIds lista : faixa(termo).values()) {
+                int multiplicador = lista.termo.length() == termo.length() ? 2 : 1;
+                if (!lista.pontuar(candidatos, multiplicador, i == 0 ? maximoCandidatos : 0)) {
+                    aproximado = true;
+                    break;
+                }
+            }
+            candidatos.fecharTermo();
+        }
+
+        // Mantém só os melhores inicio + quantidade em um heap, sem ordenar todos os encontrados
+        int necessarios = (int) Math.min((long) inicio + quantidade, Integer.MAX_VALUE);
+        HeapChaves melhores = new HeapChaves(Math.min(necessarios, candidatos.tamanho()));
+        long encontrados = 0;
+        for (int posicao = 0; posicao < candidatos.capacidade(); posicao++) {
+            if (candidatos.atendidos(posicao) == termosConsulta.size()) {
+                encontrados++;
+                melhores.oferecer(((long) candidatos.pontuacao(posicao) << BITS_ID)
+                        | (MASCARA_ID - candidatos.id(posicao)));
+            }
+        }
+
+        long[] ordenadas = melhores.ordenadasDecrescente();
+        List<Long> pagina = new ArrayList<>(Math.max(0, ordenadas.length - inicio));
+        for (int i = inicio; i < ordenadas.length; i++) {
+            pagina.add(MASCARA_ID - (ordenadas[i] & MASCARA_ID));
+        }
+        return new ResultadoBusca(pagina, encontrados, aproximado);
+    }
+
+    public int getDocumentos() {
+        return termosPorDocumento.size();
+    }
+
+    public int getTermos() {
+        return termos.size();
+    }
+
+    /**
+     * Quebra um texto em termos normalizados: sem acentos, minúsculos e só letras ou só dígitos
+     * 
+     * Letras e dígitos colados viram termos separados ("silva123" gera "silva" e "123"), para
+     * que o número de um email não crie um termo único por usuário sob cada prefixo de nome.
+     */
+    public static List<String> normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> resultado = new ArrayList<>(4);
+        int inicio = 0;
+        int tipoAtual = 0;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            int tipo = tipo(semAcentos.charAt(i));
+            if (tipo != tipoAtual) {
+                if (tipoAtual != 0) {
+                    resultado.add(semAcentos.substring(inicio, i));
+                }
+                inicio = i;
+                tipoAtual = tipo;
+            }
+        }
+        if (tipoAtual != 0) {
+            resultado.add(semAcentos.substring(inicio));
+        }
+        return resultado;
+    }
+
+    /**
+     * Classe do caractere: 1 para letra, 2 para dígito e 0 para separador
+     */
+    private static int tipo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1;
+        }
+        return c >= '0' && c <= '9' ? 2 : 0;
+    }
+
+    private List<String> termosConsulta(String consulta) {
+        List<String> resultado = new ArrayList<>();
+        if (consulta == null) {
+            return resultado;
+        }
+        for (String parte : ESPACOS.split(consulta.trim())) {
+            List<String> termosParte = parte.indexOf('@') >= 0
+                    ? Collections.singletonList(PREFIXO_EMAIL + Usuario.normalizarEmail(parte))
+                    : normalizar(parte);
+            for (String termo : termosParte) {
+                if (termo.length() >= tamanhoMinimoTermo && !resultado.contains(termo)) {
+                    resultado.add(termo);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static void adicionarTermos(Map<String, Byte> pesos, String texto, byte peso) {
+        for (String termo : normalizar(texto)) {
+            pesos.merge(termo, peso, (a, b) -> (byte) Math.max(a, b));
+        }
+    }
+
+    private String incluirPostagem(String termo, long id, byte peso) {
+        while (true) {
+            ListaIds lista = termos.computeIfAbsent(termo, ListaIds::new);
+            if (lista.adicionar(id, peso)) {
+                return lista.termo;
+            }
+            // A lista acabou de ser esvaziada e retirada do mapa; tenta de novo com uma nova
+            termos.remove(termo, lista);
+        }
+    }
+
+    private NavigableMap<String, ListaIds> faixa(String prefixo) {
+        return termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Soma o tamanho das listas dos termos com o prefixo, parando ao passar do limite
+     */
+    private long contarAte(String prefixo, long limite) {
+        long total = 0;
+        for (ListaIds lista : faixa(prefixo).values()) {
+            total += lista.tamanho();
+            if (total >= limite) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Resultado de uma busca: página de IDs e total de usuários encontrados
+     */
+    public static class ResultadoBusca {
+
+        private final List<Long> ids;
+        private final long total;
+        private final boolean aproximado;
+
+        ResultadoBusca(List<Long> ids, long total, boolean aproximado) {
+            this.ids = ids;
+            this.total = total;
+            this.aproximado = aproximado;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Indica que o termo mais seletivo tinha mais candidatos que o limite e nem todos foram avaliados
+         */
+        public boolean isAproximado() {
+            return aproximado;
+        }
+    }
+
+    /**
+     * IDs dos usuários que contêm um termo e o peso do campo em cada um, sem ordem definida
+     */
+    private static final class ListaIds {
+
+        private final String termo;
+        private long[] ids = new long[2];
+        private byte[] pesos = new byte[2];
+        private int tamanho;
+        private boolean retirada;
+
+        ListaIds(String termo) {
+            this.termo = termo;
+        }
+
+        synchronized boolean adicionar(long id, byte peso) {
+            if (retirada) {
+                return false;
+            }
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+            }
+            ids[tamanho] = id;
+            pesos[tamanho] = peso;
+            tamanho++;
+            return true;
+        }
+
+        /**
+         * Remove o ID; se a lista ficar vazia, é marcada como retirada
+         * 
+         * @return true se a lista deve sair do mapa de termos
+         */
+        synchronized boolean remover(long id) {
+            for (int i = 0; i < tamanho; i++) {
+                if (ids[i] == id) {
+                    tamanho--;
+                    ids[i] = ids[tamanho];
+                    pesos[i] = pesos[tamanho];
+                    break;
+                }
+            }
+            if (tamanho == 0) {
+                retirada = true;
+            }
+            return retirada;
+        }
+
+        synchronized int tamanho() {
+            return tamanho;
+        }
+
+        /**
+         * Registra o peso deste termo para os candidatos
+         * 
+         * @param limiteNovos se maior que zero, os IDs ausentes entram como candidatos até esse
+         *                    total; se zero, só os candidatos já existentes são pontuados
+         * @return false se o limite de candidatos foi atingido antes de percorrer toda a lista
+         */
+        synchronized boolean pontuar(TabelaCandidatos candidatos, int multiplicador, int limiteNovos) {
+            for (int i = 0; i < tamanho; i++) {
+                int posicao = limiteNovos > 0 ? candidatos.inserir(ids[i], limiteNovos) : candidatos.posicao(ids[i]);
+                if (posicao == -2) {
+                    return false;
+                }
+                if (posicao >= 0) {
+                    candidatos.registrar(posicao, pesos[i] * multiplicador);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Candidatos de uma consulta em endereçamento aberto (ID zero marca posição vazia)
+     * 
+     * Para cada candidato guarda a pontuação acumulada, o melhor peso no termo da consulta
+     * em avaliação e quantos termos da consulta ele já atendeu.
+     */
+    private static final class TabelaCandidatos {
+
+        private long[] ids;
+        private int[] pontuacoes;
+        private int[] melhores;
+        private int[] atendidos;
+        private int tamanho;
+
+        TabelaCandidatos(int capacidadeEsperada) {
+            int capacidade = 16;
+            while (capacidade < capacidadeEsperada * 2L && capacidade < (1 << 30)) {
+                capacidade <<= 1;
+            }
+            alocar(capacidade);
+        }
+
+        /**
+         * @return posição do ID, -1 se ausente
+         */
+        int posicao(long id) {
+            int mascara = ids.length - 1;
+            for (int posicao = espalhar(id) & mascara; ; posicao = (posicao + 1) & mascara) {
+                if (ids[posicao] == id) {
+                    return posicao;
+                }
+                if (ids[posicao] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        /**
+         * Insere o ID se ainda não for candidato
+         * 
+         * @return posição do ID, ou -2 se for novo e a tabela já tiver o limite de candidatos
+         */
+        int inserir(long id, int limite) {
+            if ((tamanho + 1) * 2 > ids.length) {
+                crescer();
+            }
+            int mascara = ids.length - 1;
+            int posicao = espalhar(id) & mascara;
+            while (ids[posicao] != 0) {
+                if (ids[posicao] == id) {
+                    return posicao;
+                }
+                posicao = (posicao + 1) & mascara;
+            }
+            if (tamanho >= limite) {
+                return -2;
+            }
+            ids[posicao] = id;
+            tamanho++;
+            return posicao;
+        }
+
+        void registrar(int posicao, int peso) {
+            if (peso > melhores[posicao]) {
+                melhores[posicao] = peso;
+            }
+        }
+
+        /**
+         * Soma o melhor peso do termo avaliado aos candidatos que o atenderam
+         */
+        void fecharTermo() {
+            for (int i = 0; i < ids.length; i++) {
+                if (melhores[i] > 0) {
+                    pontuacoes[i] += melhores[i];
+                    atendidos[i]++;
+                    melhores[i] = 0;
+                }
+            }
+        }
+
+        int capacidade() {
+            return ids.length;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        long id(int posicao) {
+            return ids[posicao];
+        }
+
+        int pontuacao(int posicao) {
+            return pontuacoes[posicao];
+        }
+
+        int atendidos(int posicao) {
+            return atendidos[posicao];
+        }
+
+        private void crescer() {
+            long[] idsAntigos = ids;
+            int[] pontuacoesAntigas = pontuacoes;
+            int[] melhoresAntigos = melhores;
+            int[] atendidosAntigos = atendidos;
+            alocar(idsAntigos.length * 2);
+            int mascara = ids.length - 1;
+            for (int i = 0; i < idsAntigos.length; i++) {
+                if (idsAntigos[i] == 0) {
+                    continue;
+                }
+                int posicao = espalhar(idsAntigos[i]) & mascara;
+                while (ids[posicao] != 0) {
+                    posicao = (posicao + 1) & mascara;
+                }
+                ids[posicao] = idsAntigos[i];
+                pontuacoes[posicao] = pontuacoesAntigas[i];
+                melhores[posicao] = melhoresAntigos[i];
+                atendidos[posicao] = atendidosAntigos[i];
+            }
+        }
+
+        private void alocar(int capacidade) {
+            ids = new long[capacidade];
+            pontuacoes = new int[capacidade];
+            melhores = new int[capacidade];
+            atendidos = new int[capacidade];
+        }
+
+        private static int espalhar(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+        }
+    }
+
+    /**
+     * Heap mínimo de tamanho fixo que guarda as maiores chaves oferecidas
+     */
+    private static final class HeapChaves {
+
+        private final long[] chaves;
+        private int tamanho;
+
+        HeapChaves(int capacidade) {
+            this.chaves = new long[capacidade];
+        }
+
+        void oferecer(long chave) {
+            if (chaves.length == 0) {
+                return;
+            }
+            if (tamanho < chaves.length) {
+                int i = tamanho++;
+                chaves[i] = chave;
+                while (i > 0 && chaves[(i - 1) / 2] > chaves[i]) {
+                    trocar(i, (i - 1) / 2);
+                    i = (i - 1) / 2;
+                }
+            } else if (chave > chaves[0]) {
+                chaves[0] = chave;
+                int i = 0;
+                while (true) {
+                    int menor = i;
+                    int esquerda = 2 * i + 1;
+                    if (esquerda < tamanho && chaves[esquerda] < chaves[menor]) {
+                        menor = esquerda;
+                    }
+                    if (esquerda + 1 < tamanho && chaves[esquerda + 1] < chaves[menor]) {
+                        menor = esquerda + 1;
+                    }
+                    if (menor == i) {
+                        break;
+                    }
+                    trocar(i, menor);
+                    i = menor;
+                }
+            }
+        }
+
+        long[] ordenadasDecrescente() {
+            long[] ordenadas = Arrays.copyOf(chaves, tamanho);
+            Arrays.sort(ordenadas);
+            for (int i = 0, j = ordenadas.length - 1; i < j; i++, j--) {
+                long troca = ordenadas[i];
+                ordenadas[i] = ordenadas[j];
+                ordenadas[j] = troca;
+            }
+            return ordenadas;
+        }
+
+        private void trocar(int a, int b) {
+            long troca = chaves[a];
+            chaves[a] = chaves[b];
+            chaves[b] = troca;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.cadastro.busca;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice de busca textual dos usuários cadastrados
+ * 
+ * Carregado a partir da tabela usuarios quando a aplicação fica pronta e mantido
+ * atualizado a cada cadastro e deleção, sempre depois do commit. Uma reconstrução
+ * monta um índice novo enquanto o antigo continua respondendo; as alterações feitas
+ * durante a reconstrução são aplicadas aos dois.
+ */
+@Component
+@Slf4j
+public class IndiceBuscaUsuarios {
+
+    private final Object travaReconstrucao = new Object();
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${usuarios.busca.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${usuarios.busca.tamanho-minimo-termo:2}")
+    private int tamanhoMinimoTermo;
+
+    @Value("${usuarios.busca.maximo-candidatos:100000}")
+    private int maximoCandidatos;
+
+    private volatile IndiceBusca atual;
+    private volatile IndiceBusca emConstrucao;
+    private volatile Set<Long> removidosDuranteConstrucao;
+
+    /**
+     * Publica no Micrometer a quantidade de usuários e de termos indexados
+     */
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("usuarios.busca.documentos", this, i -> i.atual == null ? 0 : i.atual.getDocumentos())
+                .register(meterRegistry);
+        Gauge.builder("usuarios.busca.termos", this, i -> i.atual == null ? 0 : i.atual.getTermos())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega o índice a partir do banco assim que a aplicação fica pronta
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir da tabela usuarios sem interromper as buscas
+     */
+    public void reconstruir() {
+        synchronized (travaReconstrucao) {
+            long inicio = System.nanoTime();
+            IndiceBusca novo = new IndiceBusca(tamanhoMinimoTermo, maximoCandidatos);
+            Set<Long> removidos = ConcurrentHashMap.newKeySet();
+            removidosDuranteConstrucao = removidos;
+            emConstrucao = novo;
+
+            try {
+                TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+                transacao.setReadOnly(true);
+                particoes.emCada(p -> transacao.executeWithoutResult(status -> {
+                    try (Stream<UsuarioResponseDTO> usuarios = usuarioRepository.streamAllDtos()) {
+                        usuarios.forEach(u -> indexar(novo, u.getId(), u.getNome(), u.getSobrenome(),
+                                u.getEmail(), u.getCidade()));
+                    }
+                }));
+                // Deleções confirmadas enquanto a leitura ainda podia enxergar o usuário
+                removidos.forEach(novo::remover);
+                atual = novo;
+            } finally {
+                emConstrucao = null;
+                removidosDuranteConstrucao = null;
+            }
+
+            log.info("Índice de busca carregado com {} usuários e {} termos em {} ms",
+                    novo.getDocumentos(), novo.getTermos(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Busca usuários por nome, sobrenome, email e cidade
+     * 
+     * @param consulta termos da busca, comparados por prefixo e sem diferenciar acentos
+     * @param inicio posição do primeiro resultado
+     * @param quantidade quantidade máxima de resultados
+     * @return IDs em ordem de relevância e total encontrado
+     * @throws IllegalArgumentException se a consulta não tiver nenhum termo com o tamanho mínimo
+     * @throws IllegalStateException se a busca estiver desabilitada ou o índice ainda não estiver carregado
+     */
+    public IndiceBusca.ResultadoBusca buscar(String consulta, int inicio, int quantidade) {
+        IndiceBusca indice = atual;
+        if (!habilitado) {
+            throw new IllegalStateException("Busca de usuários desabilitada");
+        }
+        if (indice == null) {
+            throw new IllegalStateException("Índice de busca em construção");
+        }
+        return indice.buscar(consulta, inicio, quantidade);
+    }
+
+    /**
+     * Indexa um novo usuário após o commit da transação corrente
+     */
+    public void adicionarAposCommit(Long id, String nome, String sobrenome, String email, String cidade) {
+        aposCommit(() -> {
+            indexar(atual, id, nome, sobrenome, email, cidade);
+            indexar(emConstrucao, id, nome, sobrenome, email, cidade);
+        });
+    }
+
+    /**
+     * Remove um usuário do índice após o commit da transação corrente
+     */
+    public void removerAposCommit(Long id) {
+        aposCommit(() -> {
+            remover(atual, id);
+            remover(emConstrucao, id);
+            Set<Long> removidos = removidosDuranteConstrucao;
+            if (removidos != null) {
+                removidos.add(id);
+            }
+        });
+    }
+
+    /**
+     * Retorna o tamanho do índice
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("habilitado", habilitado);
+        IndiceBusca indice = atual;
+        estatisticas.put("carregado", indice != null);
+        estatisticas.put("emConstrucao", emConstrucao != null);
+        if (indice != null) {
+            estatisticas.put("documentos", indice.getDocumentos());
+            estatisticas.put("termos", indice.getTermos());
+        }
+        return estatisticas;
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!habilitado) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private static void indexar(IndiceBusca indice, Long id, String nome, String sobrenome,
+                                String email, String cidade) {
+        if (indice != null && id != null) {
+            indice.adicionar(id, nome, sobrenome, email, cidade);
+        }
+    }
+
+    private static void remover(IndiceBusca indice, Long id) {
+        if (indice != null && id != null) {
+            indice.remover(id);
+        }
+    }
+}
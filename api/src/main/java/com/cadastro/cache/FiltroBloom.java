@@ -0,0 +1,122 @@
+package com.cadastro.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de strings, seguro para uso concorrente sem locks
+ * 
+ * Responde "com certeza não contém" ou "pode conter". Os bits ficam em um
+ * AtomicLongArray e são ligados com compare-and-set, então inserções e consultas
+ * concorrentes nunca bloqueiam. Elementos não podem ser removidos.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * Cria um filtro dimensionado para a capacidade e a taxa de falso positivo desejadas
+     * 
+     * @param capacidade quantidade esperada de elementos
+     * @param taxaFalsoPositivo taxa de falso positivo desejada na capacidade (ex: 0.01)
+     */
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        long n = Math.max(1, capacidade);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        // Arredonda para múltiplo de 64, pois os bits são guardados em longs
+        long palavras = Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(Math.toIntExact(palavras));
+        this.quantidadeBits = palavras * 64;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / n * Math.log(2)));
+    }
+
+    /**
+     * Adiciona um elemento ao filtro
+     */
+    public void adicionar(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            ligar(posicao);
+        }
+        elementos.increment();
+    }
+
+    /**
+     * Verifica se o elemento pode estar no filtro
+     * 
+     * @return false se o elemento com certeza não foi adicionado; true se pode ter sido
+     */
+    public boolean podeConter(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo esperada para a quantidade de elementos já inseridos
+     */
+    public double taxaFalsoPositivoEstimada() {
+        double n = elementos.sum();
+        return Math.pow(1 - Math.exp(-quantidadeHashes * n / quantidadeBits), quantidadeHashes);
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    public long getElementos() {
+        return elementos.sum();
+    }
+
+    /**
+     * Memória ocupada pelo vetor de bits, em bytes
+     */
+    public long getTamanhoBytes() {
+        return quantidadeBits / 8;
+    }
+
+    private void ligar(long posicao) {
+        int indice = (int) (posicao >>> 6);
+        long mascara = 1L << posicao;
+        long atual;
+        do {
+            atual = bits.get(indice);
+            if ((atual & mascara) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(indice, atual, atual | mascara));
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a sobre os bytes UTF-8, finalizado com o mix do MurmurHash3)
+     */
+    private static long hash(String valor, long semente) {
+        long h = 0xCBF29CE484222325L ^ semente;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
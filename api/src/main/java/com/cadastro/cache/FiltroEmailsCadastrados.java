@@ -0,0 +1,197 @@
+package com.cadastro.cache;
+
+import com.cadastro.entity.Usuario;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Pré-verificação de emails já cadastrados com um filtro de Bloom
+ * 
+ * O filtro é carregado a partir da tabela usuarios na inicialização e atualizado
+ * a cada cadastro. No cadastro em lote, os emails que com certeza não existem
+ * não entram na consulta de duplicidade; apenas os possíveis positivos vão ao banco.
+ * A constraint unique do email normalizado continua sendo a garantia final.
+ * 
+ * Enquanto o filtro não está carregado, todo email é tratado como possível positivo.
+ */
+@Component
+@Slf4j
+public class FiltroEmailsCadastrados {
+
+    private final Object travaReconstrucao = new Object();
+    private final LongAdder negativos = new LongAdder();
+    private final LongAdder possiveisPositivos = new LongAdder();
+    private final LongAdder falsosPositivos = new LongAdder();
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${usuarios.filtro-email.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${usuarios.filtro-email.capacidade-minima:1000000}")
+    private long capacidadeMinima;
+
+    @Value("${usuarios.filtro-email.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    private volatile FiltroBloom atual;
+    private volatile FiltroBloom emConstrucao;
+
+    /**
+     * Publica no Micrometer os contadores e o tamanho do filtro
+     */
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("usuarios.filtro.email.consultas", negativos, LongAdder::sum)
+                .tag("resultado", "negativo").register(meterRegistry);
+        Gauge.builder("usuarios.filtro.email.consultas", possiveisPositivos, LongAdder::sum)
+                .tag("resultado", "possivel-positivo").register(meterRegistry);
+        Gauge.builder("usuarios.filtro.email.consultas", falsosPositivos, LongAdder::sum)
+                .tag("resultado", "falso-positivo").register(meterRegistry);
+        Gauge.builder("usuarios.filtro.email.memoria", this, f -> f.atual == null ? 0 : f.atual.getTamanhoBytes())
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Carrega o filtro a partir do banco assim que a aplicação fica pronta
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Reconstrói o filtro a partir da tabela usuarios sem interromper as consultas
+     * 
+     * O filtro antigo continua respondendo até o novo ficar pronto; os cadastros feitos
+     * durante a reconstrução são adicionados aos dois.
+     */
+    public void reconstruir() {
+        synchronized (travaReconstrucao) {
+            long inicio = System.nanoTime();
+            long total = particoes.emTodas(p -> usuarioRepository.count()).stream().mapToLong(Long::longValue).sum();
+            FiltroBloom novo = new FiltroBloom(Math.max(capacidadeMinima, total * 2), taxaFalsoPositivo);
+            emConstrucao = novo;
+
+            try {
+                TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+                transacao.setReadOnly(true);
+                particoes.emCada(p -> transacao.executeWithoutResult(status -> {
+                    try (Stream<String> emails = usuarioRepository.streamAllEmails()) {
+                        emails.forEach(novo::adicionar);
+                    }
+                }));
+                atual = novo;
+            } finally {
+                emConstrucao = null;
+            }
+
+            negativos.reset();
+            possiveisPositivos.reset();
+            falsosPositivos.reset();
+            log.info("Filtro de emails carregado com {} emails em {} ms ({} KB, {} hashes)",
+                    novo.getElementos(), (System.nanoTime() - inicio) / 1_000_000,
+                    novo.getTamanhoBytes() / 1024, novo.getQuantidadeHashes());
+        }
+    }
+
+    /**
+     * Verifica se o email pode já estar cadastrado
+     * 
+     * @return false se o email com certeza não está cadastrado; true se é preciso consultar o banco
+     */
+    public boolean podeExistir(String email) {
+        FiltroBloom filtro = atual;
+        if (!habilitado || filtro == null) {
+            return true;
+        }
+        if (filtro.podeConter(Usuario.normalizarEmail(email))) {
+            possiveisPositivos.increment();
+            return true;
+        }
+        negativos.increment();
+        return false;
+    }
+
+    /**
+     * Registra que um possível positivo não existia no banco (falso positivo)
+     */
+    public void registrarFalsoPositivo() {
+        if (habilitado && atual != null) {
+            falsosPositivos.increment();
+        }
+    }
+
+    /**
+     * Adiciona o email de um novo cadastro ao filtro
+     */
+    public void registrar(String email) {
+        if (!habilitado) {
+            return;
+        }
+        String normalizado = Usuario.normalizarEmail(email);
+        FiltroBloom filtro = atual;
+        if (filtro != null) {
+            filtro.adicionar(normalizado);
+        }
+        FiltroBloom novo = emConstrucao;
+        if (novo != null) {
+            novo.adicionar(normalizado);
+        }
+    }
+
+    /**
+     * Retorna o tamanho do filtro e as taxas de falso positivo estimada e observada
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("habilitado", habilitado);
+        FiltroBloom filtro = atual;
+        estatisticas.put("carregado", filtro != null);
+        if (filtro == null) {
+            return estatisticas;
+        }
+        long fp = falsosPositivos.sum();
+        long negativosVerdadeiros = negativos.sum();
+        estatisticas.put("elementos", filtro.getElementos());
+        estatisticas.put("bits", filtro.getQuantidadeBits());
+        estatisticas.put("hashes", filtro.getQuantidadeHashes());
+        estatisticas.put("memoriaBytes", filtro.getTamanhoBytes());
+        estatisticas.put("taxaFalsoPositivoEstimada", filtro.taxaFalsoPositivoEstimada());
+        estatisticas.put("negativos", negativosVerdadeiros);
+        estatisticas.put("possiveisPositivos", possiveisPositivos.sum());
+        estatisticas.put("falsosPositivos", fp);
+        estatisticas.put("taxaFalsoPositivoObservada",
+                fp + negativosVerdadeiros == 0 ? 0.0 : (double) fp / (fp + negativosVerdadeiros));
+        return estatisticas;
+    }
+}
@@ -0,0 +1,189 @@
+package com.cadastro.cache;
+
+import com.cadastro.exception.ChaveIdempotenciaReutilizadaException;
+import com.cadastro.exception.RequisicaoEmAndamentoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Respostas guardadas por chave de idempotência (cabeçalho Idempotency-Key)
+ * 
+ * A primeira requisição com uma chave executa a ação e guarda a resposta; as repetições com
+ * a mesma chave recebem a resposta guardada, sem executar a ação de novo. Uma repetição que
+ * chega enquanto a primeira ainda está em execução espera o mesmo resultado.
+ * 
+ * Junto da resposta fica a impressão digital (SHA-256) da requisição que a gerou: a mesma
+ * chave com outro corpo é recusada. Respostas 429 e 5xx não são guardadas, para que o
+ * cliente possa tentar de novo com a mesma chave.
+ * 
+ * O armazenamento tem tamanho máximo e expiração a partir da gravação; as estatísticas são
+ * publicadas no Micrometer como cache "usuarios.idempotencia".
+ */
+@Component
+@Slf4j
+public class RespostasIdempotentes {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final boolean habilitado;
+    private final long esperaNanos;
+    private final Cache<String, Entrada> respostas;
+    private final MeterRegistry meterRegistry;
+
+    public RespostasIdempotentes(@Value("${usuarios.idempotencia.habilitado:true}") boolean habilitado,
+                                 @Value("${usuarios.idempotencia.tamanho-maximo:10000}") long tamanhoMaximo,
+                                 @Value("${usuarios.idempotencia.expiracao:1h}") Duration expiracao,
+                                 @Value("${usuarios.idempotencia.espera:30s}") Duration espera,
+                                 MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.esperaNanos = espera.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, respostas, "usuarios.idempotencia");
+        log.info("Chaves de idempotência {} (tamanho máximo {}, expiração {}, espera {})",
+                habilitado ? "habilitadas" : "desabilitadas", tamanhoMaximo, expiracao, espera);
+    }
+
+    /**
+     * Executa a ação uma única vez por chave
+     * 
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param impressaoDigital impressão digital do corpo da requisição (ver {@link #impressaoDigital})
+     * @param acao gera a resposta da primeira requisição com a chave
+     * @return resposta da ação, ou a resposta guardada com o cabeçalho Idempotent-Replayed
+     * @throws IllegalArgumentException se a chave for vazia ou longa demais
+     * @throws ChaveIdempotenciaReutilizadaException se a chave já foi usada com outro corpo
+     * @throws RequisicaoEmAndamentoException se a primeira requisição não terminar dentro da espera
+     */
+    public ResponseEntity<?> executar(String chave, String impressaoDigital, Supplier<ResponseEntity<?>> acao) {
+        if (!habilitado) {
+            return acao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(CABECALHO + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        Entrada nova = new Entrada(impressaoDigital);
+        Entrada existente = respostas.asMap().putIfAbsent(chave, nova);
+        if (existente == null) {
+            registrar("nova");
+            return executarPrimeira(chave, nova, acao);
+        }
+        if (!existente.impressaoDigital.equals(impressaoDigital)) {
+            registrar("reutilizada");
+            throw new ChaveIdempotenciaReutilizadaException();
+        }
+        registrar(existente.resposta.isDone() ? "repetida" : "aguardada");
+        return repetida(aguardar(existente));
+    }
+
+    private ResponseEntity<?> executarPrimeira(String chave, Entrada entrada, Supplier<ResponseEntity<?>> acao) {
+        ResponseEntity<?> resposta;
+        try {
+            resposta = acao.get();
+        } catch (RuntimeException | Error e) {
+            respostas.asMap().remove(chave, entrada);
+            entrada.resposta.completeExceptionally(e);
+            throw e;
+        }
+        int status = resposta.getStatusCodeValue();
+        if (status == 429 || status >= 500) {
+            // Falha transitória: quem está esperando recebe a mesma resposta, mas a chave fica livre
+            respostas.asMap().remove(chave, entrada);
+        }
+        entrada.resposta.complete(resposta);
+        return resposta;
+    }
+
+    private ResponseEntity<?> aguardar(Entrada entrada) {
+        try {
+            return entrada.resposta.get(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RequisicaoEmAndamentoException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequisicaoEmAndamentoException();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException("Falha na requisição original", causa);
+        }
+    }
+
+    private static ResponseEntity<?> repetida(ResponseEntity<?> resposta) {
+        return ResponseEntity.status(resposta.getStatusCode())
+                .headers(resposta.getHeaders())
+                .header(CABECALHO_REPETIDA, "true")
+                .body(resposta.getBody());
+    }
+
+    private void registrar(String resultado) {
+        meterRegistry.counter("usuarios.idempotencia.requisicoes", "resultado", resultado).increment();
+    }
+
+    /**
+     * Calcula a impressão digital (SHA-256 em hexadecimal) dos campos de uma requisição
+     * 
+     * Só o resumo fica guardado, então campos sensíveis como a senha podem fazer parte dele.
+     * 
+     * @param campos valores dos campos, em ordem fixa; nulos são distinguidos de vazios
+     */
+    public static String impressaoDigital(String... campos) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String campo : campos) {
+            if (campo == null) {
+                sha256.update((byte) 0);
+            } else {
+                sha256.update((byte) 1);
+                sha256.update(campo.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+        }
+        byte[] resumo = sha256.digest();
+        StringBuilder hex = new StringBuilder(resumo.length * 2);
+        for (byte b : resumo) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class Entrada {
+
+        private final String impressaoDigital;
+        private final CompletableFuture<ResponseEntity<?>> resposta = new CompletableFuture<>();
+
+        Entrada(String impressaoDigital) {
+            this.impressaoDigital = impressaoDigital;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.cadastro.cache;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache em memória (read-through) das consultas de usuário por ID e por email
+ * 
+ * Guarda o UsuarioResponseDTO nas duas chaves (o email é normalizado), com tamanho máximo e tempo de expiração.
+ * Usuários inexistentes também são guardados (cache negativo) com expiração menor.
+ * Cada chave só é preenchida pelo seu próprio carregador, de forma atômica: uma invalidação
+ * da chave durante o carregamento espera ele terminar e remove o resultado, então a
+ * invalidação sempre prevalece sobre uma leitura concorrente do estado antigo.
+ * Quando desabilitado (usuarios.cache.habilitado=false), toda consulta vai direto ao carregador.
+ * As estatísticas são publicadas no Micrometer como caches "usuarios.por-id" e "usuarios.por-email".
+ */
+@Component
+@Slf4j
+public class UsuarioCache {
+
+    private final boolean habilitado;
+    private final Cache<Long, Optional<UsuarioResponseDTO>> porId;
+    private final Cache<String, Optional<UsuarioResponseDTO>> porEmail;
+
+    public UsuarioCache(@Value("${usuarios.cache.habilitado:true}") boolean habilitado,
+                        @Value("${usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                        @Value("${usuarios.cache.expiracao:10m}") Duration expiracao,
+                        @Value("${usuarios.cache.expiracao-negativa:30s}") Duration expiracaoNegativa,
+                        MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoUsuario<Long>(expiracao, expiracaoNegativa))
+                .recordStats()
+                .build();
+        this.porEmail = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoUsuario<String>(expiracao, expiracaoNegativa))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, porId, "usuarios.por-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, porEmail, "usuarios.por-email");
+        log.info("Cache de usuários {} (tamanho máximo {}, expiração {}, expiração negativa {})",
+                habilitado ? "habilitado" : "desabilitado", tamanhoMaximo, expiracao, expiracaoNegativa);
+    }
+
+    /**
+     * Busca um usuário pelo ID, carregando do banco em caso de ausência no cache
+     * 
+     * @param id ID do usuário
+     * @param carregador consulta executada quando o ID não está no cache
+     * @return usuário, ou vazio se não existir
+     */
+    public Optional<UsuarioResponseDTO> buscarPorId(Long id, Function<Long, Optional<UsuarioResponseDTO>> carregador) {
+        if (!habilitado) {
+            return carregador.apply(id);
+        }
+        return porId.get(id, carregador);
+    }
+
+    /**
+     * Busca um usuário pelo email, carregando do banco em caso de ausência no cache
+     * 
+     * @param email email do usuário
+     * @param carregador consulta pelo email normalizado, executada quando o email não está no cache
+     * @return usuário, ou vazio se não existir
+     */
+    public Optional<UsuarioResponseDTO> buscarPorEmail(String email,
+                                                      Function<String, Optional<UsuarioResponseDTO>> carregador) {
+        String chave = Usuario.normalizarEmail(email);
+        if (!habilitado) {
+            return carregador.apply(chave);
+        }
+        return porEmail.get(chave, carregador);
+    }
+
+    /**
+     * Remove as entradas do usuário nas duas chaves após o commit da transação corrente
+     * 
+     * Usado no cadastro (para descartar entradas negativas) e na deleção. Invalidar só
+     * depois do commit evita que uma leitura concorrente recoloque no cache o estado antigo.
+     * 
+     * @param id ID do usuário
+     * @param email email do usuário
+     */
+    public void invalidarAposCommit(Long id, String email) {
+        if (!habilitado) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(id, email);
+                }
+            });
+        } else {
+            invalidar(id, email);
+        }
+    }
+
+    /**
+     * Remove imediatamente as entradas do usuário nas duas chaves
+     */
+    public void invalidar(Long id, String email) {
+        if (id != null) {
+            porId.invalidate(id);
+        }
+        if (email != null) {
+            porEmail.invalidate(Usuario.normalizarEmail(email));
+        }
+    }
+
+    /**
+     * Retorna as estatísticas de acerto, erro e remoção de cada cache
+     */
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("habilitado", habilitado);
+        estatisticas.put("porId", estatisticas(porId.stats(), porId.estimatedSize()));
+        estatisticas.put("porEmail", estatisticas(porEmail.stats(), porEmail.estimatedSize()));
+        return estatisticas;
+    }
+
+    private static Map<String, Object> estatisticas(CacheStats stats, long tamanho) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("tamanho", tamanho);
+        resultado.put("acertos", stats.hitCount());
+        resultado.put("erros", stats.missCount());
+        resultado.put("taxaAcerto", stats.hitRate());
+        resultado.put("remocoes", stats.evictionCount());
+        return resultado;
+    }
+
+    /**
+     * Expiração por entrada: usuários encontrados ficam mais tempo que as entradas negativas
+     */
+    private static class ExpiracaoUsuario<K> implements Expiry<K, Optional<UsuarioResponseDTO>> {
+
+        private final long expiracaoNanos;
+        private final long expiracaoNegativaNanos;
+
+        ExpiracaoUsuario(Duration expiracao, Duration expiracaoNegativa) {
+            this.expiracaoNanos = expiracao.toNanos();
+            this.expiracaoNegativaNanos = expiracaoNegativa.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(K chave, Optional<UsuarioResponseDTO> valor, long agora) {
+            return valor.isPresent() ? expiracaoNanos : expiracaoNegativaNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K chave, Optional<UsuarioResponseDTO> valor, long agora, long restante) {
+            return expireAfterCreate(chave, valor, agora);
+        }
+
+        @Override
+        public long expireAfterRead(K chave, Optional<UsuarioResponseDTO> valor, long agora, long restante) {
+            return restante;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cadastro.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão da coleção de usuários, usada no ETag da listagem (GET /usuarios)
+ * 
+ * Muda a cada cadastro ou deleção confirmado, em qualquer caminho de escrita. Como é mantida
+ * em memória, leva um identificador da instância: um ETag emitido antes de um reinício (ou
+ * por outra instância) nunca coincide com o atual. Alterações feitas direto no banco, fora da
+ * aplicação, não mudam a versão.
+ */
+@Component
+public class VersaoColecaoUsuarios {
+
+    private final String instancia = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Versão atual; deve ser lida antes da consulta que ela identifica, para que uma
+     * alteração confirmada entre as duas resulte em uma versão nova e não em uma antiga
+     */
+    public String atual() {
+        return instancia + "." + versao.get();
+    }
+
+    /**
+     * Muda a versão após o commit da transação corrente (ou na hora, fora de transação)
+     */
+    public void alterarAposCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versao.incrementAndGet();
+                }
+            });
+        } else {
+            versao.incrementAndGet();
+        }
+    }
+}
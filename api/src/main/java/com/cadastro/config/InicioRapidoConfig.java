@@ -0,0 +1,105 @@
+package com.cadastro.config;
+
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.FiltroEmailsCadastrados;
+import com.cadastro.estatisticas.EstatisticasUsuarios;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Suporte ao perfil de inicialização rápida (application-inicio-rapido.properties)
+ * 
+ * Com spring.main.lazy-initialization=true os beans só são criados no primeiro uso. Os
+ * componentes carregados na inicialização (filtro de emails, índice de busca e estatísticas,
+ * que também têm a reconciliação agendada) continuam sendo criados com o contexto.
+ * 
+ * Com usuarios.inicio-rapido.treinamento=true a aplicação faz algumas requisições a si mesma
+ * assim que fica pronta e termina. É a execução de treino do build com o perfil Maven
+ * inicio-rapido, que grava em um arquivo CDS as classes carregadas na inicialização e no
+ * atendimento das primeiras requisições.
+ */
+@Configuration
+@Slf4j
+public class InicioRapidoConfig {
+
+    /**
+     * Beans que não podem ficar para o primeiro uso com a inicialização preguiçosa
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter carregadosNaInicializacao() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FiltroEmailsCadastrados.class,
+                IndiceBuscaUsuarios.class, EstatisticasUsuarios.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "usuarios.inicio-rapido.treinamento", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> treinamentoInicioRapido() {
+        return new TreinamentoInicioRapido();
+    }
+
+    /**
+     * Executa o caminho das requisições mais comuns (cadastro, consultas e listagem) e encerra
+     * a aplicação; roda depois dos demais ouvintes de ApplicationReadyEvent
+     */
+    private static final class TreinamentoInicioRapido implements ApplicationListener<ApplicationReadyEvent>, Ordered {
+
+        private static final String CADASTRO = "{\"nome\":\"Treino\",\"sobrenome\":\"Inicializacao\","
+                + "\"email\":\"treino.inicializacao@exemplo.com\",\"senha\":\"Senha123\",\"cep\":\"01001000\","
+                + "\"rua\":\"Praca da Se\",\"numero\":\"1\",\"bairro\":\"Se\",\"cidade\":\"Sao Paulo\",\"estado\":\"SP\"}";
+
+        @Override
+        public void onApplicationEvent(ApplicationReadyEvent event) {
+            ConfigurableApplicationContext contexto = event.getApplicationContext();
+            int status = 0;
+            try {
+                int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                String base = "http://localhost:" + porta + contexto.getEnvironment().getProperty("server.servlet.context-path", "");
+                HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(CADASTRO)));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios/1")));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios/email/treino.inicializacao@exemplo.com")));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios?limite=20"))
+                        .header("Accept-Encoding", "gzip"));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios/busca?q=treino")));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/usuarios/stats/total")));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/cep/01001000")));
+                requisitar(cliente, HttpRequest.newBuilder(URI.create(base + "/actuator/health")));
+                log.info("Treino de inicialização concluído; encerrando");
+            } catch (Exception e) {
+                log.error("Falha no treino de inicialização", e);
+                status = 1;
+            }
+            System.exit(status == 0 ? SpringApplication.exit(contexto) : status);
+        }
+
+        private static void requisitar(HttpClient cliente, HttpRequest.Builder requisicao) throws Exception {
+            HttpResponse<Void> resposta = cliente.send(requisicao.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            log.info("Treino: {} {} -> {}", resposta.request().method(), resposta.request().uri().getPath(),
+                    resposta.statusCode());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
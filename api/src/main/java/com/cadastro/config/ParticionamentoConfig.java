@@ -0,0 +1,98 @@
+package com.cadastro.config;
+
+import com.cadastro.particao.DataSourceParticionado;
+import com.cadastro.particao.GeradorIdUsuario;
+import com.cadastro.particao.ParticionamentoProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Particionamento da tabela usuarios entre vários bancos (usuarios.particionamento.habilitado=true)
+ * 
+ * Substitui o DataSource do Spring Boot por um DataSourceParticionado com um pool Hikari por
+ * partição. Antes de o JPA subir, cada partição é migrada pelo Flyway (db/migration) e recebe
+ * a faixa exclusiva da sua sequence; o Hibernate só valida o schema e devolve a conexão ao fim
+ * de cada transação, para que a seguinte (talvez em outra partição, com open-in-view) pegue a
+ * conexão certa. Os comandos de sequence usam a sintaxe do H2.
+ */
+@Configuration
+@ConditionalOnProperty(name = "usuarios.particionamento.habilitado", havingValue = "true")
+@Slf4j
+public class ParticionamentoConfig {
+
+    /**
+     * Tamanho da faixa de valores da sequence de cada partição (cerca de 67 milhões de usuários)
+     */
+    static final long FAIXA_SEQUENCE = 1L << 26;
+
+    /**
+     * Com até 16 faixas, valor * FATIAS fica abaixo de 2^40, o maior ID aceito pelo índice de busca
+     */
+    static final int MAXIMO_PARTICOES = 16;
+
+    @Bean
+    @Primary
+    public DataSourceParticionado dataSource(ParticionamentoProperties configuracao) {
+        if (configuracao.getParticoes().size() > MAXIMO_PARTICOES) {
+            throw new IllegalStateException("usuarios.particionamento.particoes aceita no máximo " + MAXIMO_PARTICOES + " partições");
+        }
+        List<HikariDataSource> particoes = new ArrayList<>();
+        for (int p = 0; p < configuracao.getParticoes().size(); p++) {
+            ParticionamentoProperties.Particao particao = configuracao.getParticoes().get(p);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("particao-" + p);
+            dataSource.setJdbcUrl(particao.getUrl());
+            dataSource.setUsername(particao.getUsuario());
+            dataSource.setPassword(particao.getSenha());
+            dataSource.setMaximumPoolSize(configuracao.getTamanhoPool());
+            dataSource.setConnectionTimeout(5000);
+            particoes.add(dataSource);
+
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            reservarFaixaSequence(dataSource, p);
+            log.info("Partição {} pronta: {}", p, particao.getUrl());
+        }
+        return new DataSourceParticionado(particoes);
+    }
+
+    /**
+     * Schema vindo das migrações, conexão por transação e o gerador de ID com a fatia do email nos bits baixos
+     */
+    @Bean
+    public HibernatePropertiesCustomizer particionamentoHibernate() {
+        return propriedades -> {
+            propriedades.put("hibernate.hbm2ddl.auto", "validate");
+            propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                    PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            propriedades.put(GeradorIdUsuario.PARTICIONADO, "true");
+        };
+    }
+
+    /**
+     * Leva a sequence da partição para o início da sua faixa, se ainda estiver abaixo dele
+     */
+    private static void reservarFaixaSequence(HikariDataSource dataSource, int particao) {
+        long inicio = particao * FAIXA_SEQUENCE + 1;
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long atual = jdbc.queryForObject("select next value for usuarios_seq", Long.class);
+        if (atual == null || atual < inicio) {
+            jdbc.execute("alter sequence usuarios_seq restart with " + inicio);
+        }
+    }
+}
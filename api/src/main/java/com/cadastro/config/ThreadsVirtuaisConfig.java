@@ -0,0 +1,60 @@
+package com.cadastro.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo opcional de execução em threads virtuais (requer JDK 21 ou superior)
+ * 
+ * Quando usuarios.threads-virtuais.habilitado=true, cada requisição do Tomcat e cada
+ * tarefa assíncrona do Spring MVC (ex: a exportação em streaming) roda em uma thread
+ * virtual. O limite de concorrência passa a ser o pool de conexões JDBC
+ * (spring.datasource.hikari.maximum-pool-size), dimensionado de forma independente.
+ * 
+ * O executor é criado por reflexão para que a aplicação continue compilando para Java 11.
+ */
+@Configuration
+@ConditionalOnProperty(name = "usuarios.threads-virtuais.habilitado", havingValue = "true")
+@Slf4j
+public class ThreadsVirtuaisConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService executorThreadsVirtuais() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Threads virtuais habilitadas para requisições e tarefas assíncronas");
+            return executor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("usuarios.threads-virtuais.habilitado=true requer JDK 21 ou superior (JDK atual: "
+                    + System.getProperty("java.version") + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+        }
+    }
+
+    /**
+     * Substitui o pool de threads de requisição do Tomcat pelo executor de threads virtuais
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat(ExecutorService executorThreadsVirtuais) {
+        return protocolHandler -> protocolHandler.setExecutor(executorThreadsVirtuais);
+    }
+
+    /**
+     * Executor usado pelo Spring MVC para requisições assíncronas e por métodos @Async
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorThreadsVirtuais) {
+        return new TaskExecutorAdapter(executorThreadsVirtuais);
+    }
+}
@@ -0,0 +1,59 @@
+package com.cadastro.controller;
+
+import com.cadastro.dto.EnderecoDTO;
+import com.cadastro.service.CepService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controlador REST para consulta de endereço por CEP
+ * 
+ * Fornece endpoints para:
+ * - GET /cep/{cep} - Buscar endereço pelo CEP (base local e, se configurado, ViaCEP)
+ */
+@RestController
+@RequestMapping("/cep")
+@Slf4j
+public class CepController {
+
+    @Autowired
+    private CepService cepService;
+
+    /**
+     * Busca o endereço de um CEP
+     * 
+     * @param cep CEP no formato 00000-000 ou 00000000
+     * @return ResponseEntity com o endereço
+     */
+    @GetMapping("/{cep}")
+    public ResponseEntity<?> buscarCep(@PathVariable String cep) {
+        log.debug("Buscando CEP: {}", cep);
+
+        Map<String, String> erro = new HashMap<>();
+        try {
+            Optional<EnderecoDTO> endereco = cepService.buscar(cep);
+            if (endereco.isPresent()) {
+                return ResponseEntity.ok(endereco.get());
+            }
+            erro.put("erro", "CEP não encontrado");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
+        } catch (IllegalArgumentException e) {
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (IllegalStateException e) {
+            log.error("Erro ao consultar CEP {}: {}", cep, e.getMessage());
+            erro.put("erro", "Serviço de CEP indisponível");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(erro);
+        }
+    }
+}
@@ -1,30 +1,76 @@
 package com.cadastro.controller;
 
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.FiltroEmailsCadastrados;
+import com.cadastro.cache.RespostasIdempotentes;
+import com.cadastro.cache.UsuarioCache;
+import com.cadastro.cache.VersaoColecaoUsuarios;
 import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.PaginaUsuariosDTO;
+import com.cadastro.dto.ResultadoBuscaDTO;
+import com.cadastro.dto.ResultadoLoteDTO;
+import com.cadastro.dto.ResultadoRemocaoDTO;
 import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import com.cadastro.exception.ChaveIdempotenciaReutilizadaException;
+import com.cadastro.exception.EmailJaCadastradoException;
+import com.cadastro.exception.RequisicaoEmAndamentoException;
+import com.cadastro.exception.ServicoSaturadoException;
+import com.cadastro.log.MascaraDados;
+import com.cadastro.particao.RebalanceamentoParticoes;
+import com.cadastro.service.FormatoExportacao;
+import com.cadastro.service.UsuarioExportacaoService;
+import com.cadastro.service.UsuarioLoteService;
+import com.cadastro.service.UsuarioRemocaoService;
 import com.cadastro.service.UsuarioService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador REST para gerenciar usuários
  * 
  * Fornece endpoints para:
- * - POST /usuarios - Cadastrar novo usuário
+ * - POST /usuarios - Cadastrar novo usuário (aceita Idempotency-Key)
+ * - POST /usuarios/lote - Cadastrar usuários em lote (array JSON ou NDJSON)
  * - GET /usuarios/{id} - Buscar usuário por ID
  * - GET /usuarios/email/{email} - Buscar usuário por email
- * - GET /usuarios - Listar todos os usuários
+ * - GET /usuarios/busca - Buscar usuários por nome, sobrenome, email e cidade
+ * - GET /usuarios/stats/total - Total e distribuições por estado, cidade e dia
+ * - GET /usuarios/stats/cache - Estatísticas do cache de usuários
+ * - GET /usuarios/stats/busca - Estatísticas do índice de busca
+ * - GET /usuarios/stats/filtro-email - Estatísticas do filtro de emails cadastrados
+ * - POST /usuarios/filtro-email/reconstruir - Reconstruir o filtro de emails
+ * - GET /usuarios/stats/particoes - Usuários em cada partição
+ * - POST /usuarios/particoes/rebalancear - Mover usuários para a partição da sua fatia
+ * - GET /usuarios - Listar usuários (paginado por cursor)
+ * - GET /usuarios/exportar - Exportar todos os usuários (NDJSON ou CSV)
  * - DELETE /usuarios/{id} - Deletar usuário
+ * - DELETE /usuarios - Deletar usuários em lote (lista de IDs ou cadastrados antes de uma data)
  */
 @RestController
 @RequestMapping("/usuarios")
@@ -34,36 +80,111 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private UsuarioExportacaoService usuarioExportacaoService;
+
+    @Autowired
+    private UsuarioLoteService usuarioLoteService;
+
+    @Autowired
+    private UsuarioRemocaoService usuarioRemocaoService;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private FiltroEmailsCadastrados filtroEmailsCadastrados;
+
+    @Autowired
+    private IndiceBuscaUsuarios indiceBusca;
+
+    @Autowired
+    private VersaoColecaoUsuarios versaoColecao;
+
+    @Autowired
+    private RebalanceamentoParticoes rebalanceamentoParticoes;
+
+    @Autowired
+    private ValidadorCadastroUsuario validadorCadastro;
+
+    @Autowired
+    private RespostasIdempotentes respostasIdempotentes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Cadastra um novo usuário
      * 
+     * Com o cabeçalho Idempotency-Key, as repetições da mesma requisição (ex: reenvio após
+     * timeout) recebem a resposta da primeira, sem cadastrar de novo.
+     * 
      * @param cadastroDTO dados do usuário
-     * @param bindingResult resultado da validação
+     * @param chaveIdempotencia chave opcional que identifica a operação
      * @return ResponseEntity com dados do usuário cadastrado
      */
     @PostMapping
     public ResponseEntity<?> cadastrarUsuario(
-            @Valid @RequestBody CadastroUsuarioDTO cadastroDTO,
-            BindingResult bindingResult) {
+            @RequestBody CadastroUsuarioDTO cadastroDTO,
+            @RequestHeader(value = RespostasIdempotentes.CABECALHO, required = false) String chaveIdempotencia) {
 
-        log.info("Recebida requisição de cadastro: {}", cadastroDTO.getEmail());
+        log.debug("Recebida requisição de cadastro: {}", MascaraDados.email(cadastroDTO.getEmail()));
 
         // Validar erros de validação
-        if (bindingResult.hasErrors()) {
-            Map<String, String> erros = new HashMap<>();
-            bindingResult.getFieldErrors().forEach(error ->
-                    erros.put(error.getField(), error.getDefaultMessage())
-            );
-            log.warn("Erros de validação no cadastro: {}", erros);
+        Map<String, String> erros = validadorCadastro.validar(cadastroDTO);
+        if (!erros.isEmpty()) {
+            erros.keySet().forEach(campo -> meterRegistry
+                    .counter("usuarios.validacao.erros", "origem", "cadastro", "campo", campo).increment());
+            log.debug("Erros de validação no cadastro: {}", erros.keySet());
             return ResponseEntity.badRequest().body(erros);
         }
 
+        if (chaveIdempotencia == null) {
+            return cadastrar(cadastroDTO);
+        }
+        try {
+            return respostasIdempotentes.executar(chaveIdempotencia, impressaoDigital(cadastroDTO),
+                    () -> cadastrar(cadastroDTO));
+        } catch (ChaveIdempotenciaReutilizadaException e) {
+            log.debug("Idempotency-Key reutilizada com outros dados");
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(erro);
+        } catch (RequisicaoEmAndamentoException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        }
+    }
+
+    /**
+     * Cadastra um usuário já validado e traduz o resultado na resposta HTTP
+     */
+    private ResponseEntity<?> cadastrar(CadastroUsuarioDTO cadastroDTO) {
         try {
             UsuarioResponseDTO usuarioCadastrado = usuarioService.cadastrarUsuario(cadastroDTO);
-            log.info("Usuário cadastrado com sucesso: {}", usuarioCadastrado.getId());
+            log.debug("Usuário cadastrado com sucesso: {}", usuarioCadastrado.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(usuarioCadastrado);
+        } catch (EmailJaCadastradoException e) {
+            log.debug("Email já cadastrado: {}", MascaraDados.email(cadastroDTO.getEmail()));
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+        } catch (ServicoSaturadoException e) {
+            log.debug("Cadastro recusado por saturação: {}", e.getMessage());
+            return saturado(e);
         } catch (IllegalArgumentException e) {
-            log.error("Erro ao cadastrar usuário: {}", e.getMessage());
+            log.debug("Cadastro recusado: {}", e.getMessage());
             Map<String, String> erro = new HashMap<>();
             erro.put("erro", e.getMessage());
             return ResponseEntity.badRequest().body(erro);
@@ -75,21 +196,66 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * Impressão digital de todos os campos do cadastro, para conferir a reutilização de uma Idempotency-Key
+     */
+    private static String impressaoDigital(CadastroUsuarioDTO dto) {
+        return RespostasIdempotentes.impressaoDigital(dto.getNome(), dto.getSobrenome(), dto.getEmail(),
+                dto.getSenha(), dto.getCep(), dto.getRua(), dto.getNumero(), dto.getComplemento(),
+                dto.getBairro(), dto.getCidade(), dto.getEstado());
+    }
+
+    /**
+     * Cadastra usuários em lote
+     * 
+     * Aceita um array JSON ou NDJSON (um usuário por linha) e retorna o resultado
+     * de cada item: criado, duplicado ou com erro de validação.
+     * 
+     * @param entrada corpo da requisição
+     * @return ResponseEntity com os totais e o resultado por item
+     */
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> cadastrarLote(InputStream entrada) {
+        log.debug("Recebida requisição de cadastro em lote");
+
+        try {
+            ResultadoLoteDTO resultado = usuarioLoteService.cadastrarLote(entrada);
+            return ResponseEntity.ok(resultado);
+        } catch (JsonProcessingException e) {
+            log.debug("JSON inválido no cadastro em lote: {}", e.getOriginalMessage());
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "JSON inválido na linha " + e.getLocation().getLineNr()
+                    + ", coluna " + e.getLocation().getColumnNr());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (ServicoSaturadoException e) {
+            log.warn("Cadastro em lote interrompido por saturação: {}", e.getMessage());
+            return saturado(e);
+        } catch (Exception e) {
+            log.error("Erro inesperado no cadastro em lote", e);
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao cadastrar usuários em lote");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
     /**
      * Busca um usuário pelo ID
      * 
+     * A resposta leva o ETag da versão do usuário; com If-None-Match igual, o Spring
+     * responde 304 sem serializar o corpo (e, com o usuário em cache, sem ir ao banco).
+     * 
      * @param id ID do usuário
      * @return ResponseEntity com dados do usuário
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarUsuarioPorId(@PathVariable Long id) {
-        log.info("Buscando usuário com ID: {}", id);
+        log.debug("Buscando usuário com ID: {}", id);
 
         try {
             UsuarioResponseDTO usuario = usuarioService.buscarUsuarioPorId(id);
-            return ResponseEntity.ok(usuario);
+            return comEtag(usuario);
         } catch (IllegalArgumentException e) {
-            log.error("Usuário não encontrado: {}", e.getMessage());
+            log.debug("Usuário não encontrado: {}", e.getMessage());
             Map<String, String> erro = new HashMap<>();
             erro.put("erro", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
@@ -99,18 +265,20 @@ public class UsuarioController {
     /**
      * Busca um usuário pelo email
      * 
+     * Mesmo ETag da busca por ID.
+     * 
      * @param email email do usuário
      * @return ResponseEntity com dados do usuário
      */
     @GetMapping("/email/{email}")
     public ResponseEntity<?> buscarUsuarioPorEmail(@PathVariable String email) {
-        log.info("Buscando usuário com email: {}", email);
+        log.debug("Buscando usuário com email: {}", MascaraDados.email(email));
 
         try {
             UsuarioResponseDTO usuario = usuarioService.buscarUsuarioPorEmail(email);
-            return ResponseEntity.ok(usuario);
+            return comEtag(usuario);
         } catch (IllegalArgumentException e) {
-            log.error("Usuário não encontrado: {}", e.getMessage());
+            log.debug("Usuário não encontrado: {}", e.getMessage());
             Map<String, String> erro = new HashMap<>();
             erro.put("erro", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
@@ -118,20 +286,43 @@ public class UsuarioController {
     }
 
     /**
-     * Lista todos os usuários cadastrados
+     * Lista os usuários cadastrados em páginas
      * 
-     * @return ResponseEntity com lista de usuários
+     * O ETag combina a versão da coleção (muda a cada cadastro ou deleção) com os parâmetros:
+     * com If-None-Match igual, a resposta é 304 antes de consultar o banco. É um ETag fraco
+     * porque o Tomcat só comprime respostas sem ETag forte, e a página costuma passar do
+     * tamanho mínimo de compressão.
+     * 
+     * @param cursor cursor opaco retornado pela página anterior
+     * @param limite quantidade máxima de usuários na página
+     * @param cidade filtro opcional por cidade
+     * @param estado filtro opcional por estado (sigla)
+     * @return ResponseEntity com a página de usuários e o próximo cursor
      */
     @GetMapping
-    public ResponseEntity<?> listarTodosUsuarios() {
-        log.info("Listando todos os usuários");
+    public ResponseEntity<?> listarUsuarios(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String cidade,
+            @RequestParam(required = false) String estado,
+            WebRequest webRequest) {
+        log.debug("Listando usuários");
+
+        // Lida antes da consulta: um cadastro confirmado no meio gera uma versão nova, nunca uma página velha com ETag novo
+        String etag = "W/\"l" + versaoColecao.atual() + "."
+                + Integer.toHexString(Objects.hash(cursor, limite, cidade, estado)) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
         try {
-            List<UsuarioResponseDTO> usuarios = usuarioService.listarTodosUsuarios();
-            Map<String, Object> resposta = new HashMap<>();
-            resposta.put("total", usuarios.size());
-            resposta.put("usuarios", usuarios);
-            return ResponseEntity.ok(resposta);
+            PaginaUsuariosDTO pagina = usuarioService.listarUsuarios(cursor, limite, cidade, estado);
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(pagina);
+        } catch (IllegalArgumentException e) {
+            log.debug("Parâmetros de paginação inválidos: {}", e.getMessage());
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
         } catch (Exception e) {
             log.error("Erro ao listar usuários", e);
             Map<String, String> erro = new HashMap<>();
@@ -141,19 +332,102 @@ public class UsuarioController {
     }
 
     /**
-     * Retorna o total de usuários cadastrados
+     * Busca usuários por nome, sobrenome, email e cidade, em ordem de relevância
      * 
-     * @return ResponseEntity com o total
+     * @param q termos da busca (prefixos, sem diferenciar acentos)
+     * @param pagina número da página, a partir de zero
+     * @param limite quantidade máxima de usuários na página
+     * @return ResponseEntity com a página de usuários, o total e a próxima página
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<?> buscarUsuarios(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer limite) {
+        log.debug("Buscando usuários");
+
+        try {
+            ResultadoBuscaDTO resultado = usuarioService.buscarUsuarios(q, pagina, limite);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            log.debug("Parâmetros de busca inválidos: {}", e.getMessage());
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (IllegalStateException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(erro);
+        } catch (Exception e) {
+            log.error("Erro ao buscar usuários", e);
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao buscar usuários");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
+    /**
+     * Exporta todos os usuários em streaming, com memória constante
+     * 
+     * Comprime a resposta com gzip quando o Accept-Encoding aceita gzip (ver aceitaGzip).
+     * 
+     * @param formato formato de saída: ndjson (padrão) ou csv
+     * @param acceptEncoding codificações aceitas pelo cliente
+     * @return ResponseEntity com o corpo escrito progressivamente
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarUsuarios(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Exportando usuários em {}", formato);
+
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.porNome(formato);
+        } catch (IllegalArgumentException e) {
+            // O retorno precisa ser StreamingResponseBody, então o erro é serializado manualmente
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(saida -> objectMapper.writeValue(saida, erro));
+        }
+
+        boolean gzip = aceitaGzip(acceptEncoding);
+        StreamingResponseBody corpo = saida -> {
+            if (gzip) {
+                GZIPOutputStream saidaGzip = new GZIPOutputStream(saida, 16 * 1024);
+                usuarioExportacaoService.exportar(formatoExportacao, saidaGzip);
+                saidaGzip.finish();
+            } else {
+                usuarioExportacaoService.exportar(formatoExportacao, saida);
+            }
+        };
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"usuarios." + formatoExportacao.getExtensao() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    /**
+     * Retorna o total de usuários cadastrados e as distribuições por estado, cidade e dia
+     * 
+     * Os valores vêm de contadores em memória, sem consultar o banco.
+     * 
+     * @return ResponseEntity com o total e as distribuições
      */
     @GetMapping("/stats/total")
     public ResponseEntity<?> obterTotalUsuarios() {
-        log.info("Obtendo total de usuários");
+        log.debug("Obtendo total de usuários");
 
         try {
-            long total = usuarioService.contarUsuarios();
-            Map<String, Long> resposta = new HashMap<>();
-            resposta.put("total", total);
-            return ResponseEntity.ok(resposta);
+            return ResponseEntity.ok(usuarioService.obterEstatisticas());
         } catch (Exception e) {
             log.error("Erro ao obter total de usuários", e);
             Map<String, String> erro = new HashMap<>();
@@ -162,6 +436,90 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * Retorna as estatísticas do cache de usuários (acertos, erros e remoções)
+     * 
+     * @return ResponseEntity com as estatísticas por ID e por email
+     */
+    @GetMapping("/stats/cache")
+    public ResponseEntity<?> obterEstatisticasCache() {
+        return ResponseEntity.ok(usuarioCache.estatisticas());
+    }
+
+    /**
+     * Retorna o tamanho do índice de busca
+     * 
+     * @return ResponseEntity com a quantidade de usuários e de termos indexados
+     */
+    @GetMapping("/stats/busca")
+    public ResponseEntity<?> obterEstatisticasBusca() {
+        return ResponseEntity.ok(indiceBusca.estatisticas());
+    }
+
+    /**
+     * Retorna as estatísticas do filtro de emails cadastrados
+     * 
+     * @return ResponseEntity com memória ocupada e taxas de falso positivo estimada e observada
+     */
+    @GetMapping("/stats/filtro-email")
+    public ResponseEntity<?> obterEstatisticasFiltroEmail() {
+        return ResponseEntity.ok(filtroEmailsCadastrados.estatisticas());
+    }
+
+    /**
+     * Reconstrói o filtro de emails cadastrados a partir do banco, sem interromper os cadastros
+     * 
+     * @return ResponseEntity com as estatísticas do novo filtro
+     */
+    @PostMapping("/filtro-email/reconstruir")
+    public ResponseEntity<?> reconstruirFiltroEmail() {
+        log.info("Reconstruindo filtro de emails cadastrados");
+
+        try {
+            filtroEmailsCadastrados.reconstruir();
+            return ResponseEntity.ok(filtroEmailsCadastrados.estatisticas());
+        } catch (Exception e) {
+            log.error("Erro ao reconstruir filtro de emails", e);
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao reconstruir filtro de emails");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
+    /**
+     * Quantidade de usuários em cada partição
+     * 
+     * @return ResponseEntity com partições, fatias e usuários por partição
+     */
+    @GetMapping("/stats/particoes")
+    public ResponseEntity<?> estatisticasParticoes() {
+        return ResponseEntity.ok(rebalanceamentoParticoes.estatisticas());
+    }
+
+    /**
+     * Move os usuários para a partição da sua fatia, depois de acrescentar uma partição
+     * 
+     * @param simular true para só contar os usuários fora do lugar
+     * @return ResponseEntity com usuários verificados, fora do lugar e movidos
+     */
+    @PostMapping("/particoes/rebalancear")
+    public ResponseEntity<?> rebalancearParticoes(@RequestParam(defaultValue = "false") boolean simular) {
+        log.info("Rebalanceando partições de usuários (simular={})", simular);
+
+        try {
+            return ResponseEntity.ok(rebalanceamentoParticoes.rebalancear(simular));
+        } catch (IllegalStateException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(erro);
+        } catch (Exception e) {
+            log.error("Erro ao rebalancear partições", e);
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao rebalancear partições");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
     /**
      * Deleta um usuário
      * 
@@ -170,7 +528,7 @@ public class UsuarioController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarUsuario(@PathVariable Long id) {
-        log.info("Deletando usuário com ID: {}", id);
+        log.debug("Deletando usuário com ID: {}", id);
 
         try {
             usuarioService.deletarUsuario(id);
@@ -178,7 +536,7 @@ public class UsuarioController {
             resposta.put("mensagem", "Usuário deletado com sucesso");
             return ResponseEntity.ok(resposta);
         } catch (IllegalArgumentException e) {
-            log.error("Usuário não encontrado: {}", e.getMessage());
+            log.debug("Usuário não encontrado: {}", e.getMessage());
             Map<String, String> erro = new HashMap<>();
             erro.put("erro", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
@@ -190,16 +548,119 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * Deleta usuários em lote
+     * 
+     * Recebe no corpo um array JSON de IDs ou, no parâmetro criadosAntesDe, uma data
+     * (ISO-8601, ex: 2024-01-01T00:00:00); os usuários são removidos em blocos.
+     * 
+     * @param ids IDs dos usuários a deletar
+     * @param criadosAntesDe remove os usuários cadastrados antes desta data
+     * @return ResponseEntity com os totais de solicitados, removidos e não encontrados
+     */
+    @DeleteMapping
+    public ResponseEntity<?> deletarUsuarios(
+            @RequestBody(required = false) List<Long> ids,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadosAntesDe) {
+        log.debug("Recebida requisição de deleção em lote");
+
+        try {
+            if ((ids == null) == (criadosAntesDe == null)) {
+                throw new IllegalArgumentException("Informe um array de IDs no corpo ou o parâmetro criadosAntesDe");
+            }
+            ResultadoRemocaoDTO resultado = ids != null
+                    ? usuarioRemocaoService.deletarPorIds(ids)
+                    : usuarioRemocaoService.deletarCriadosAntesDe(criadosAntesDe);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(erro);
+        } catch (Exception e) {
+            log.error("Erro ao deletar usuários em lote", e);
+            Map<String, String> erro = new HashMap<>();
+            erro.put("erro", "Erro ao deletar usuários em lote");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(erro);
+        }
+    }
+
     /**
      * Health check do servidor
      * 
-     * @return ResponseEntity com status OK
+     * Usa o health indicator do Actuator, que verifica a conexão com o banco de dados.
+     * 
+     * @return ResponseEntity com status OK, ou 503 se o banco estiver indisponível
      */
     @GetMapping("/health")
     public ResponseEntity<?> health() {
+        HealthComponent saude = healthEndpoint.health();
         Map<String, String> resposta = new HashMap<>();
-        resposta.put("status", "OK");
-        resposta.put("mensagem", "API de Cadastro de Usuários está funcionando");
-        return ResponseEntity.ok(resposta);
+        if (Status.UP.equals(saude.getStatus())) {
+            resposta.put("status", "OK");
+            resposta.put("mensagem", "API de Cadastro de Usuários está funcionando");
+            return ResponseEntity.ok(resposta);
+        }
+        log.warn("Health check com status {}", saude.getStatus());
+        resposta.put("status", saude.getStatus().getCode());
+        resposta.put("mensagem", "API de Cadastro de Usuários indisponível");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(resposta);
+    }
+
+    /**
+     * Resposta 200 com o ETag forte da versão do usuário; o cliente deve revalidar a cada uso
+     */
+    private static ResponseEntity<UsuarioResponseDTO> comEtag(UsuarioResponseDTO usuario) {
+        return ResponseEntity.ok()
+                .eTag("\"u" + usuario.getId() + "." + usuario.getVersao() + "\"")
+                .cacheControl(CacheControl.noCache())
+                .body(usuario);
+    }
+
+    /**
+     * Se o Accept-Encoding aceita gzip: "gzip" (ou "x-gzip") com peso maior que zero ou,
+     * sem menção a gzip, "*" com peso maior que zero. "gzip;q=0" recusa gzip mesmo com "*".
+     * Codificações com peso inválido são ignoradas.
+     */
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean qualquer = false;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim().toLowerCase(Locale.ROOT);
+            double peso = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().toLowerCase(Locale.ROOT);
+                if (parametro.startsWith("q=")) {
+                    try {
+                        peso = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        peso = -1;
+                    }
+                }
+            }
+            if (!(peso >= 0 && peso <= 1)) {
+                continue;
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = (gzip != null && gzip) || peso > 0;
+            } else if (codificacao.equals("*")) {
+                qualquer = peso > 0;
+            }
+        }
+        return gzip != null ? gzip : qualquer;
+    }
+
+    /**
+     * Resposta 429 para quando uma etapa com capacidade limitada recusa o pedido
+     */
+    private static ResponseEntity<Map<String, String>> saturado(ServicoSaturadoException e) {
+        Map<String, String> erro = new HashMap<>();
+        erro.put("erro", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(erro);
     }
 }
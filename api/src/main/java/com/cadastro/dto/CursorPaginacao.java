@@ -0,0 +1,49 @@
+package com.cadastro.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica o cursor opaco da paginação por chave (keyset)
+ * 
+ * O cursor carrega o último ID retornado; a próxima página busca
+ * apenas IDs maiores, então o custo de qualquer página é o mesmo da primeira.
+ * Faz parte do contrato de PaginaUsuariosDTO, compartilhado pelas duas variantes da API.
+ */
+public final class CursorPaginacao {
+
+    private static final String PREFIXO = "u1:";
+
+    private CursorPaginacao() {
+    }
+
+    /**
+     * Gera o cursor a partir do último ID da página
+     */
+    public static String codificar(Long ultimoId) {
+        String valor = PREFIXO + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Extrai o último ID de um cursor; cursor nulo ou vazio indica a primeira página
+     * 
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException e erros de Base64 também são IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para resposta da consulta de CEP
+ * 
+ * Usa os mesmos nomes de campo do cadastro de usuário, para que o frontend
+ * possa preencher o formulário diretamente. O campo origem indica se o endereço
+ * veio da base local ou do serviço remoto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnderecoDTO {
+
+    private String cep;
+    private String rua;
+    private String bairro;
+    private String cidade;
+    private String estado;
+    private String origem;
+}
@@ -0,0 +1,29 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO para as estatísticas de usuários cadastrados
+ * 
+ * Contém o total, a distribuição por estado, as cidades com mais usuários
+ * ("Cidade/UF") e os cadastros por dia dos últimos dias, além do momento da
+ * última reconciliação dos contadores com o banco
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasUsuariosDTO {
+
+    private long total;
+    private Map<String, Long> porEstado;
+    private Map<String, Long> porCidade;
+    private Map<String, Long> cadastrosPorDia;
+    private LocalDateTime reconciliadoEm;
+}
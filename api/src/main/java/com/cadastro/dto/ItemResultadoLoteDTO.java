@@ -0,0 +1,28 @@
+package com.cadastro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO com o resultado de um item do cadastro em lote
+ * 
+ * O índice corresponde à posição do item na entrada (começando em 0)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemResultadoLoteDTO {
+
+    private long indice;
+    private String email;
+    private StatusItemLote status;
+    private Long id;
+    private Map<String, String> erros;
+}
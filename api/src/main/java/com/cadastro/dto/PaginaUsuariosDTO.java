@@ -0,0 +1,25 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta paginada de usuários
+ * 
+ * Contém uma página de usuários e o cursor opaco para buscar a próxima página
+ * (nulo quando não há mais resultados)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaUsuariosDTO {
+
+    private List<UsuarioResponseDTO> usuarios;
+    private int quantidade;
+    private String proximoCursor;
+}
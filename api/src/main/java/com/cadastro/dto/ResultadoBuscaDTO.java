@@ -0,0 +1,29 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta da busca de usuários
+ * 
+ * Contém uma página de usuários em ordem de relevância, o total encontrado e o número
+ * da próxima página (nulo quando não há mais resultados). Quando aproximado é true,
+ * a consulta tinha candidatos demais e nem todos foram avaliados; refine os termos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoBuscaDTO {
+
+    private List<UsuarioResponseDTO> usuarios;
+    private int quantidade;
+    private long total;
+    private boolean aproximado;
+    private int pagina;
+    private Integer proximaPagina;
+}
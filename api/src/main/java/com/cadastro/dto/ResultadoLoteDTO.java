@@ -0,0 +1,25 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta do cadastro em lote
+ * 
+ * Contém os totais por situação e o resultado de cada item
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoLoteDTO {
+
+    private long criados;
+    private long duplicados;
+    private long invalidos;
+    private List<ItemResultadoLoteDTO> itens;
+}
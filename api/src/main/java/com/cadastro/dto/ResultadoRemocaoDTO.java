@@ -0,0 +1,23 @@
+package com.cadastro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para resposta da deleção em lote (DELETE /usuarios)
+ * 
+ * Na deleção por IDs, solicitados conta os IDs distintos recebidos e naoEncontrados os que
+ * não existiam; na deleção por data, ambos ficam zerados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoRemocaoDTO {
+
+    private long solicitados;
+    private long removidos;
+    private long naoEncontrados;
+}
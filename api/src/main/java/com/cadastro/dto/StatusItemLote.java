@@ -0,0 +1,10 @@
+package com.cadastro.dto;
+
+/**
+ * Situação de cada item processado no cadastro em lote
+ */
+public enum StatusItemLote {
+    CRIADO,
+    DUPLICADO,
+    ERRO_VALIDACAO
+}
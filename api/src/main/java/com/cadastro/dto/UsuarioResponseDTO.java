@@ -1,6 +1,7 @@
 package com.cadastro.dto;
 
 import com.cadastro.entity.Usuario;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -32,6 +33,12 @@ public class UsuarioResponseDTO {
     private String estado;
     private LocalDateTime dataCriacao;
 
+    /**
+     * Versão do usuário; não sai no JSON, só no ETag da resposta
+     */
+    @JsonIgnore
+    private Long versao;
+
     /**
      * Converte uma entidade Usuario para DTO
      */
@@ -49,6 +56,7 @@ public class UsuarioResponseDTO {
                 .cidade(usuario.getCidade())
                 .estado(usuario.getEstado())
                 .dataCriacao(usuario.getDataCriacao())
+                .versao(usuario.getVersao())
                 .build();
     }
 }
@@ -0,0 +1,312 @@
+package com.cadastro.dto;
+
+import java.net.IDN;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Validação de CadastroUsuarioDTO sem Bean Validation
+ * 
+ * Aplica as regras do cadastro (as mesmas que antes eram declaradas com @NotBlank, @Size,
+ * @Email e @Pattern) com verificações escritas à mão: sem reflexão e sem expressões
+ * regulares, só percorrendo os caracteres. As mensagens são as mesmas devolvidas pela API.
+ * 
+ * Os campos são verificados na ordem em que aparecem no DTO e cada campo recebe no máximo
+ * uma mensagem, a da primeira regra violada (um campo vazio é sempre "obrigatório").
+ * Com falharRapido, a validação para no primeiro campo inválido.
+ * 
+ * A regra de email segue a do @Email do Hibernate Validator: parte local com até 64
+ * caracteres (átomos separados por ponto ou trechos entre aspas) e domínio com rótulos
+ * separados por ponto, ou um endereço IP entre colchetes.
+ */
+public final class ValidadorCadastroUsuario {
+
+    private static final int MAXIMO_PARTE_LOCAL = 64;
+    private static final int MAXIMO_DOMINIO = 255;
+
+    /**
+     * Só o literal IPv6 ("[IPv6:...]"), raro em cadastros, ainda usa expressão regular
+     */
+    private static final Pattern IPV6 = Pattern.compile("(?:(?:[0-9a-fA-F]{1,4}:){7,7}[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,7}:|(?:[0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,5}(?::[0-9a-fA-F]{1,4}){1,2}|(?:[0-9a-fA-F]{1,4}:){1,4}(?::[0-9a-fA-F]{1,4}){1,3}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,3}(?::[0-9a-fA-F]{1,4}){1,4}|(?:[0-9a-fA-F]{1,4}:){1,2}(?::[0-9a-fA-F]{1,4}){1,5}"
+            + "|[0-9a-fA-F]{1,4}:(?:(?::[0-9a-fA-F]{1,4}){1,6})|:(?:(?::[0-9a-fA-F]{1,4}){1,7}|:)"
+            + "|fe80:(?::[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]{1,}"
+            + "|::(?:ffff(:0{1,4}){0,1}:){0,1}(?:(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}"
+            + "(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,4}:(?:(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}"
+            + "(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9]))", Pattern.CASE_INSENSITIVE);
+
+    private final boolean falharRapido;
+
+    /**
+     * @param falharRapido se true, retorna só o erro do primeiro campo inválido
+     */
+    public ValidadorCadastroUsuario(boolean falharRapido) {
+        this.falharRapido = falharRapido;
+    }
+
+    /**
+     * Valida o cadastro
+     * 
+     * @param dto dados do cadastro
+     * @return mensagem de erro por campo, na ordem dos campos; vazio se o cadastro é válido
+     */
+    public Map<String, String> validar(CadastroUsuarioDTO dto) {
+        Map<String, String> erros = new LinkedHashMap<>();
+        if (registrar(erros, "nome", texto(dto.getNome(), 3, 100,
+                "Nome é obrigatório", "Nome deve ter entre 3 e 100 caracteres"))
+                || registrar(erros, "sobrenome", texto(dto.getSobrenome(), 3, 100,
+                "Sobrenome é obrigatório", "Sobrenome deve ter entre 3 e 100 caracteres"))
+                || registrar(erros, "email", vazio(dto.getEmail()) ? "Email é obrigatório"
+                : emailValido(dto.getEmail()) ? null : "Email deve ser válido")
+                || registrar(erros, "senha", texto(dto.getSenha(), 6, Integer.MAX_VALUE,
+                "Senha é obrigatória", "Senha deve ter no mínimo 6 caracteres"))
+                || registrar(erros, "cep", vazio(dto.getCep()) ? "CEP é obrigatório"
+                : cepValido(dto.getCep()) ? null : "CEP deve estar no formato 00000-000")
+                || registrar(erros, "rua", texto(dto.getRua(), 3, Integer.MAX_VALUE,
+                "Rua é obrigatória", "Rua deve ter no mínimo 3 caracteres"))
+                || registrar(erros, "numero", vazio(dto.getNumero()) ? "Número é obrigatório"
+                : apenasDigitos(dto.getNumero(), 0, dto.getNumero().length()) ? null
+                : "Número deve conter apenas dígitos")
+                || registrar(erros, "bairro", texto(dto.getBairro(), 2, Integer.MAX_VALUE,
+                "Bairro é obrigatório", "Bairro deve ter no mínimo 2 caracteres"))
+                || registrar(erros, "cidade", texto(dto.getCidade(), 2, Integer.MAX_VALUE,
+                "Cidade é obrigatória", "Cidade deve ter no mínimo 2 caracteres"))) {
+            return erros;
+        }
+        registrar(erros, "estado", vazio(dto.getEstado()) ? "Estado é obrigatório"
+                : siglaEstado(dto.getEstado()) ? null : "Estado deve ser uma sigla (ex: SP)");
+        return erros;
+    }
+
+    public boolean isFalharRapido() {
+        return falharRapido;
+    }
+
+    /**
+     * Guarda o erro do campo, se houver
+     * 
+     * @return true se a validação deve parar (modo falharRapido com erro)
+     */
+    private boolean registrar(Map<String, String> erros, String campo, String erro) {
+        if (erro == null) {
+            return false;
+        }
+        erros.put(campo, erro);
+        return falharRapido;
+    }
+
+    /**
+     * Campo de texto obrigatório com tamanho mínimo e máximo
+     */
+    private static String texto(String valor, int minimo, int maximo, String obrigatorio, String tamanho) {
+        if (vazio(valor)) {
+            return obrigatorio;
+        }
+        return valor.length() < minimo || valor.length() > maximo ? tamanho : null;
+    }
+
+    /**
+     * Nulo ou só com espaços (mesmo critério do @NotBlank, que usa String.trim)
+     */
+    static boolean vazio(String valor) {
+        if (valor == null) {
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            if (valor.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 00000-000 ou 00000000
+     */
+    static boolean cepValido(String cep) {
+        if (cep.length() == 8) {
+            return apenasDigitos(cep, 0, 8);
+        }
+        return cep.length() == 9 && cep.charAt(5) == '-' && apenasDigitos(cep, 0, 5) && apenasDigitos(cep, 6, 9);
+    }
+
+    /**
+     * Duas letras maiúsculas (A-Z)
+     */
+    static boolean siglaEstado(String estado) {
+        return estado.length() == 2 && maiuscula(estado.charAt(0)) && maiuscula(estado.charAt(1));
+    }
+
+    private static boolean apenasDigitos(String valor, int inicio, int fim) {
+        if (inicio >= fim) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (!digito(valor.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Email no formato aceito pelo @Email do Hibernate Validator
+     */
+    static boolean emailValido(String email) {
+        int arroba = email.lastIndexOf('@');
+        if (arroba < 0) {
+            return false;
+        }
+        return parteLocalValida(email, arroba) && dominioValido(email.substring(arroba + 1));
+    }
+
+    /**
+     * Segmentos separados por ponto, cada um um átomo ou um trecho entre aspas
+     */
+    private static boolean parteLocalValida(String email, int fim) {
+        if (fim == 0 || fim > MAXIMO_PARTE_LOCAL) {
+            return false;
+        }
+        int i = 0;
+        while (true) {
+            int inicioSegmento = i;
+            if (email.charAt(i) == '"') {
+                i = fimTrechoEntreAspas(email, i + 1, fim);
+                if (i < 0) {
+                    return false;
+                }
+            } else {
+                while (i < fim && caractereAtomo(email.charAt(i))) {
+                    i++;
+                }
+                if (i == inicioSegmento) {
+                    return false;
+                }
+            }
+            if (i == fim) {
+                return true;
+            }
+            if (email.charAt(i) != '.' || ++i == fim) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Percorre o conteúdo de um trecho entre aspas (ao menos um caractere ou escape)
+     * 
+     * @return posição após a aspa de fechamento, ou -1 se o trecho for inválido
+     */
+    private static int fimTrechoEntreAspas(String email, int i, int fim) {
+        int inicio = i;
+        while (i < fim) {
+            char c = email.charAt(i);
+            if (c == '"') {
+                return i == inicio ? -1 : i + 1;
+            }
+            if (c == '\\') {
+                if (i + 1 >= fim || (email.charAt(i + 1) != '\\' && email.charAt(i + 1) != '"')) {
+                    return -1;
+                }
+                i += 2;
+            } else if (caractereAtomo(c) || "!#$%&'*.(),<>[]:; @+/=?^_`{|}~-".indexOf(c) >= 0) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean dominioValido(String dominio) {
+        // O IDN descarta o ponto final, que tornaria o endereço inválido
+        if (dominio.isEmpty() || dominio.endsWith(".")) {
+            return false;
+        }
+        String ascii;
+        try {
+            ascii = IDN.toASCII(dominio);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (ascii.length() > MAXIMO_DOMINIO) {
+            return false;
+        }
+        if (dominio.charAt(0) == '[') {
+            return enderecoIpEntreColchetes(dominio);
+        }
+        return rotulosValidos(dominio);
+    }
+
+    /**
+     * Rótulos não vazios separados por ponto, sem hífen no início ou no fim
+     */
+    private static boolean rotulosValidos(String dominio) {
+        int inicioRotulo = 0;
+        for (int i = 0; i <= dominio.length(); i++) {
+            if (i == dominio.length() || dominio.charAt(i) == '.') {
+                if (i == inicioRotulo || dominio.charAt(inicioRotulo) == '-' || dominio.charAt(i - 1) == '-') {
+                    return false;
+                }
+                inicioRotulo = i + 1;
+            } else {
+                char c = dominio.charAt(i);
+                if (c != '-' && !caractereDominio(c)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * [0.0.0.0] (de 1 a 3 dígitos por parte) ou [IPv6:...]
+     */
+    private static boolean enderecoIpEntreColchetes(String dominio) {
+        if (dominio.length() < 2 || dominio.charAt(dominio.length() - 1) != ']') {
+            return false;
+        }
+        String conteudo = dominio.substring(1, dominio.length() - 1);
+        if (conteudo.regionMatches(true, 0, "IPv6:", 0, 5)) {
+            return IPV6.matcher(conteudo.substring(5)).matches();
+        }
+        int partes = 0;
+        int digitos = 0;
+        for (int i = 0; i <= conteudo.length(); i++) {
+            if (i == conteudo.length() || conteudo.charAt(i) == '.') {
+                if (digitos == 0) {
+                    return false;
+                }
+                partes++;
+                digitos = 0;
+            } else if (!digito(conteudo.charAt(i)) || ++digitos > 3) {
+                return false;
+            }
+        }
+        return partes == 4;
+    }
+
+    private static boolean caractereAtomo(char c) {
+        return letraOuDigito(c) || c >= '\u0080' || "!#$%&'*+/=?^_`{|}~-".indexOf(c) >= 0;
+    }
+
+    private static boolean caractereDominio(char c) {
+        return letraOuDigito(c) || c >= '\u0080' || "!#$%&'*+/=?^_`{|}~".indexOf(c) >= 0;
+    }
+
+    private static boolean letraOuDigito(char c) {
+        return digito(c) || maiuscula(c) || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean digito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean maiuscula(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
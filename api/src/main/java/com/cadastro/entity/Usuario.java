@@ -4,85 +4,119 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
-import javax.validation.constraints.Email;
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Entidade Usuario
  * 
  * Representa um usuário cadastrado no sistema com todos os seus dados
- * pessoais e de endereço.
+ * pessoais e de endereço. Os dados chegam validados por ValidadorCadastroUsuario;
+ * a entidade não repete a validação ao persistir (javax.persistence.validation.mode=none).
  */
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios", uniqueConstraints = {
+        @UniqueConstraint(name = Usuario.CONSTRAINT_EMAIL_UNICO, columnNames = "email_normalizado")
+}, indexes = {
+        @Index(name = "idx_usuarios_cidade_id", columnList = "cidade, id"),
+        @Index(name = "idx_usuarios_estado_id", columnList = "estado, id"),
+        @Index(name = "idx_usuarios_estado_cidade_id", columnList = "estado, cidade, id"),
+        @Index(name = "idx_usuarios_cep", columnList = "cep"),
+        @Index(name = "idx_usuarios_data_criacao", columnList = "data_criacao")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Usuario {
 
+    /**
+     * Nome da constraint unique do email normalizado, usada para identificar cadastros duplicados
+     */
+    public static final String CONSTRAINT_EMAIL_UNICO = "uk_usuarios_email_normalizado";
+
+    /**
+     * ID gerado por sequence com otimizador pooled: o Hibernate reserva blocos de
+     * 50 valores por ida ao banco e consegue agrupar os INSERTs em lotes JDBC,
+     * o que não é possível com IDENTITY. Com o particionamento habilitado, os bits
+     * baixos do ID guardam a fatia do email (GeradorIdUsuario).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @GenericGenerator(name = "usuarios_seq", strategy = "com.cadastro.particao.GeradorIdUsuario", parameters = {
+            @Parameter(name = "sequence_name", value = "usuarios_seq"),
+            @Parameter(name = "initial_value", value = "1"),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled")
+    })
     private Long id;
 
-    @NotBlank(message = "Nome é obrigatório")
-    @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
     @Column(nullable = false)
     private String nome;
 
-    @NotBlank(message = "Sobrenome é obrigatório")
-    @Size(min = 3, max = 100, message = "Sobrenome deve ter entre 3 e 100 caracteres")
     @Column(nullable = false)
     private String sobrenome;
 
-    @NotBlank(message = "Email é obrigatório")
-    @Email(message = "Email deve ser válido")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
-    @NotBlank(message = "Senha é obrigatória")
-    @Size(min = 6, message = "Senha deve ter no mínimo 6 caracteres")
+    /**
+     * Email em minúsculas e sem espaços, preenchido automaticamente antes de persistir.
+     * A unicidade do email é garantida por esta coluna, sem diferenciar maiúsculas.
+     */
+    @Column(name = "email_normalizado", nullable = false, updatable = false)
+    private String emailNormalizado;
+
     @Column(nullable = false)
     private String senha;
 
-    @NotBlank(message = "CEP é obrigatório")
     @Column(nullable = false)
     private String cep;
 
-    @NotBlank(message = "Rua é obrigatória")
     @Column(nullable = false)
     private String rua;
 
-    @NotBlank(message = "Número é obrigatório")
     @Column(nullable = false)
     private String numero;
 
     @Column(nullable = true)
     private String complemento;
 
-    @NotBlank(message = "Bairro é obrigatório")
     @Column(nullable = false)
     private String bairro;
 
-    @NotBlank(message = "Cidade é obrigatória")
     @Column(nullable = false)
     private String cidade;
 
-    @NotBlank(message = "Estado é obrigatório")
-    @Size(min = 2, max = 2, message = "Estado deve ser uma sigla (ex: SP)")
     @Column(nullable = false)
     private String estado;
 
     @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
+    /**
+     * Versão do registro (lock otimista), incrementada pelo Hibernate a cada atualização.
+     * Compõe o ETag das consultas do usuário; nula até o primeiro persist.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         dataCriacao = LocalDateTime.now();
+        emailNormalizado = normalizarEmail(email);
+    }
+
+    /**
+     * Normaliza um email para comparação: remove espaços nas pontas e converte para minúsculas
+     */
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -0,0 +1,277 @@
+package com.cadastro.estatisticas;
+
+import com.cadastro.dto.EstatisticasUsuariosDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas de usuários mantidas em memória
+ * 
+ * Os contadores (total, por estado, por cidade e por dia de cadastro) são carregados
+ * do banco com consultas agrupadas e atualizados a cada cadastro e deleção, após o
+ * commit, com LongAdder: as leituras não acessam o banco e as escritas concorrentes
+ * não disputam o mesmo contador.
+ * 
+ * Uma reconciliação periódica recarrega os contadores do banco e corrige qualquer
+ * divergência (alterações feitas direto no banco, ou cadastros confirmados enquanto
+ * a própria reconciliação lia as contagens).
+ * 
+ * Até a carga inicial terminar, as leituras devolvem contadores zerados (sem reconciliadoEm)
+ * em vez de consultar o banco: a leitura nunca espera pela reconciliação.
+ */
+@Component
+@Slf4j
+public class EstatisticasUsuarios {
+
+    /**
+     * Devolvido pelas leituras antes da carga inicial; nunca recebe cadastros
+     */
+    private static final Contadores VAZIOS = new Contadores(null);
+
+    private final Object travaReconciliacao = new Object();
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${usuarios.estatisticas.maximo-cidades:50}")
+    private int maximoCidades;
+
+    @Value("${usuarios.estatisticas.dias:30}")
+    private int dias;
+
+    private volatile Contadores atual;
+
+    /**
+     * Publica no Micrometer o total de usuários cadastrados
+     */
+    @PostConstruct
+    public void registrarMetricas() {
+        Gauge.builder("usuarios.cadastrados", this, e -> e.atual == null ? Double.NaN : e.atual.total.sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carrega os contadores a partir do banco assim que a aplicação fica pronta
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        reconciliar();
+    }
+
+    /**
+     * Recarrega periodicamente os contadores a partir do banco
+     */
+    @Scheduled(initialDelayString = "${usuarios.estatisticas.intervalo-reconciliacao:PT10M}",
+            fixedDelayString = "${usuarios.estatisticas.intervalo-reconciliacao:PT10M}")
+    public void reconciliarPeriodicamente() {
+        reconciliar();
+    }
+
+    /**
+     * Recarrega os contadores do banco com uma consulta agrupada por dimensão
+     * 
+     * As leituras continuam usando os contadores antigos até os novos ficarem prontos.
+     */
+    public void reconciliar() {
+        synchronized (travaReconciliacao) {
+            long inicio = System.nanoTime();
+            Contadores novos = new Contadores(LocalDateTime.now());
+
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            // Particionado: as contagens de cada partição somam nos mesmos contadores
+            particoes.emCada(p -> transacao.executeWithoutResult(status -> {
+                for (Object[] linha : usuarioRepository.contarPorEstado()) {
+                    long quantidade = ((Number) linha[1]).longValue();
+                    novos.total.add(quantidade);
+                    adicionar(novos.porEstado, (String) linha[0], quantidade);
+                }
+                for (Object[] linha : usuarioRepository.contarPorCidadeEstado()) {
+                    adicionar(novos.porCidade, chaveCidade((String) linha[0], (String) linha[1]),
+                            ((Number) linha[2]).longValue());
+                }
+                for (Object[] linha : usuarioRepository.contarPorDiaCadastro()) {
+                    adicionar(novos.porDia, paraData(linha[0]), ((Number) linha[1]).longValue());
+                }
+            }));
+
+            Contadores anteriores = atual;
+            atual = novos;
+            long totalAnterior = anteriores == null ? -1 : anteriores.total.sum();
+            if (anteriores != null && totalAnterior != novos.total.sum()) {
+                log.info("Estatísticas reconciliadas com divergência: {} em memória, {} no banco",
+                        totalAnterior, novos.total.sum());
+            }
+            log.debug("Estatísticas carregadas com {} usuários em {} ms",
+                    novos.total.sum(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Conta um novo cadastro após o commit da transação corrente
+     */
+    public void registrarAposCommit(Usuario usuario) {
+        aplicarAposCommit(usuario, 1);
+    }
+
+    /**
+     * Desconta um usuário deletado após o commit da transação corrente
+     */
+    public void removerAposCommit(Usuario usuario) {
+        aplicarAposCommit(usuario, -1);
+    }
+
+    /**
+     * Retorna o total de usuários sem consultar o banco
+     */
+    public long total() {
+        return contadores().total.sum();
+    }
+
+    /**
+     * Retorna o total e as distribuições por estado, cidade e dia de cadastro
+     * 
+     * Por cidade, só as maiores (usuarios.estatisticas.maximo-cidades); por dia,
+     * só os últimos dias (usuarios.estatisticas.dias), incluindo os dias sem cadastro.
+     * Antes da carga inicial, tudo zerado e reconciliadoEm nulo.
+     */
+    public EstatisticasUsuariosDTO obter() {
+        Contadores contadores = contadores();
+
+        Map<String, Long> porEstado = new TreeMap<>();
+        contadores.porEstado.forEach((estado, quantidade) -> incluirPositivo(porEstado, estado, quantidade.sum()));
+
+        Map<String, Long> porCidade = new LinkedHashMap<>();
+        contadores.porCidade.entrySet().stream()
+                .map(e -> new Object[]{e.getKey(), e.getValue().sum()})
+                .filter(e -> (long) e[1] > 0)
+                .sorted(Comparator.comparingLong((Object[] e) -> (long) e[1]).reversed()
+                        .thenComparing(e -> (String) e[0]))
+                .limit(maximoCidades)
+                .forEach(e -> porCidade.put((String) e[0], (long) e[1]));
+
+        Map<String, Long> cadastrosPorDia = new LinkedHashMap<>();
+        LocalDate hoje = LocalDate.now();
+        for (LocalDate dia = hoje.minusDays(dias - 1L); !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            LongAdder quantidade = contadores.porDia.get(dia);
+            cadastrosPorDia.put(dia.toString(), quantidade == null ? 0 : Math.max(0, quantidade.sum()));
+        }
+
+        return EstatisticasUsuariosDTO.builder()
+                .total(contadores.total.sum())
+                .porEstado(porEstado)
+                .porCidade(porCidade)
+                .cadastrosPorDia(cadastrosPorDia)
+                .reconciliadoEm(contadores.reconciliadoEm)
+                .build();
+    }
+
+    private Contadores contadores() {
+        Contadores contadores = atual;
+        return contadores == null ? VAZIOS : contadores;
+    }
+
+    private void aplicarAposCommit(Usuario usuario, int delta) {
+        String estado = usuario.getEstado();
+        String cidade = chaveCidade(usuario.getCidade(), estado);
+        LocalDate dia = usuario.getDataCriacao() == null ? null : usuario.getDataCriacao().toLocalDate();
+        Runnable aplicar = () -> {
+            Contadores contadores = atual;
+            if (contadores == null) {
+                return;
+            }
+            contadores.total.add(delta);
+            adicionar(contadores.porEstado, estado, delta);
+            adicionar(contadores.porCidade, cidade, delta);
+            adicionar(contadores.porDia, dia, delta);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+
+    private static <K> void adicionar(Map<K, LongAdder> contadores, K chave, long quantidade) {
+        if (chave != null) {
+            contadores.computeIfAbsent(chave, c -> new LongAdder()).add(quantidade);
+        }
+    }
+
+    private static void incluirPositivo(Map<String, Long> destino, String chave, long quantidade) {
+        if (quantidade > 0) {
+            destino.put(chave, quantidade);
+        }
+    }
+
+    private static String chaveCidade(String cidade, String estado) {
+        return cidade == null ? null : cidade + "/" + estado;
+    }
+
+    /**
+     * Converte o dia retornado pelo cast para date da consulta (java.sql.Date no Hibernate 5)
+     */
+    private static LocalDate paraData(Object valor) {
+        if (valor instanceof java.sql.Date) {
+            return ((java.sql.Date) valor).toLocalDate();
+        }
+        if (valor instanceof LocalDate) {
+            return (LocalDate) valor;
+        }
+        return valor == null ? null : LocalDate.parse(valor.toString().substring(0, 10));
+    }
+
+    /**
+     * Contadores de uma carga; substituídos por inteiro a cada reconciliação
+     */
+    private static final class Contadores {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> porEstado = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> porCidade = new ConcurrentHashMap<>();
+        private final Map<LocalDate, LongAdder> porDia = new ConcurrentHashMap<>();
+        private final LocalDateTime reconciliadoEm;
+
+        Contadores(LocalDateTime reconciliadoEm) {
+            this.reconciliadoEm = reconciliadoEm;
+        }
+    }
+}
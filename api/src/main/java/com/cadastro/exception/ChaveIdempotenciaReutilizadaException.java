@@ -0,0 +1,14 @@
+package com.cadastro.exception;
+
+/**
+ * Exceção lançada quando uma chave de idempotência é reutilizada com outro corpo de requisição
+ * 
+ * É retornada pelo controlador como 422 Unprocessable Entity: a chave identifica uma
+ * operação já registrada, diferente da que foi enviada agora.
+ */
+public class ChaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    public ChaveIdempotenciaReutilizadaException() {
+        super("Idempotency-Key já utilizada com outros dados");
+    }
+}
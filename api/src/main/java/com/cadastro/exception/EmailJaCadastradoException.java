@@ -0,0 +1,14 @@
+package com.cadastro.exception;
+
+/**
+ * Exceção lançada quando o email informado no cadastro já pertence a outro usuário
+ * 
+ * Corresponde à violação da constraint unique do email normalizado e é
+ * retornada pelo controlador como 409 Conflict.
+ */
+public class EmailJaCadastradoException extends RuntimeException {
+
+    public EmailJaCadastradoException() {
+        super("Email já cadastrado no sistema");
+    }
+}
@@ -0,0 +1,14 @@
+package com.cadastro.exception;
+
+/**
+ * Exceção lançada quando a requisição original de uma chave de idempotência não terminou a tempo
+ * 
+ * A repetição espera pela resposta da original até um limite; passado esse limite, é
+ * retornada pelo controlador como 409 Conflict, para que o cliente tente novamente mais tarde.
+ */
+public class RequisicaoEmAndamentoException extends RuntimeException {
+
+    public RequisicaoEmAndamentoException() {
+        super("Requisição com a mesma Idempotency-Key ainda em processamento");
+    }
+}
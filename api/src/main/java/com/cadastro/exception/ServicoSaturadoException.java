@@ -0,0 +1,14 @@
+package com.cadastro.exception;
+
+/**
+ * Exceção lançada quando uma etapa com capacidade limitada não aceita mais trabalho
+ * 
+ * Ex: a fila do hash de senhas está cheia. É retornada pelo controlador como
+ * 429 Too Many Requests, para que o cliente tente novamente mais tarde.
+ */
+public class ServicoSaturadoException extends RuntimeException {
+
+    public ServicoSaturadoException(String mensagem) {
+        super(mensagem);
+    }
+}
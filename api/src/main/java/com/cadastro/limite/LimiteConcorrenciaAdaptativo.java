@@ -0,0 +1,99 @@
+package com.cadastro.limite;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas que se ajusta pela latência observada
+ * 
+ * Mantém duas médias móveis exponenciais da latência: uma curta (últimas ~10 requisições) e
+ * uma longa (~600), que serve de referência. Enquanto a curta fica dentro da tolerância da
+ * longa, o limite cresce aos poucos; quando a latência sobe (ex: banco lento, pool de conexões
+ * disputado), o limite cai na proporção do aumento e o excedente é recusado na hora, em vez
+ * de esperar por uma conexão ou thread. É o mesmo princípio do limitador Gradient2 da
+ * biblioteca concurrency-limits da Netflix.
+ * 
+ * A aquisição é um compareAndSet sobre o contador de requisições em andamento; só o
+ * recálculo do limite, feito ao fim de cada requisição, é sincronizado.
+ */
+class LimiteConcorrenciaAdaptativo {
+
+    private static final double PESO_CURTO = 2.0 / (10 + 1);
+    private static final double PESO_LONGO = 2.0 / (600 + 1);
+    private static final double SUAVIZACAO = 0.2;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    private volatile double limite;
+    private double latenciaCurta;
+    private double latenciaLonga;
+
+    LimiteConcorrenciaAdaptativo(LimitesProperties.Concorrencia configuracao) {
+        this.minimo = configuracao.getMinimo();
+        this.maximo = configuracao.getMaximo();
+        this.tolerancia = configuracao.getTolerancia();
+        this.limite = Math.min(Math.max(configuracao.getInicial(), minimo), maximo);
+    }
+
+    /**
+     * Reserva uma vaga para a requisição
+     * 
+     * @return requisições em andamento, incluindo esta; 0 se o limite atual já foi atingido
+     */
+    int adquirir() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= (int) limite) {
+                return 0;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return atual + 1;
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga e atualiza o limite com a latência da requisição
+     * 
+     * @param latenciaNanos duração da requisição
+     * @param emAndamentoNoInicio requisições em andamento quando ela começou, incluindo ela
+     */
+    void liberar(long latenciaNanos, int emAndamentoNoInicio) {
+        emAndamento.decrementAndGet();
+        atualizar(latenciaNanos, emAndamentoNoInicio);
+    }
+
+    private synchronized void atualizar(double latencia, int emAndamentoNoInicio) {
+        if (latenciaLonga == 0) {
+            latenciaCurta = latencia;
+            latenciaLonga = latencia;
+            return;
+        }
+        latenciaCurta += PESO_CURTO * (latencia - latenciaCurta);
+        latenciaLonga += PESO_LONGO * (latencia - latenciaLonga);
+
+        // Depois de um período lento, a referência volta mais rápido para a latência atual
+        if (latenciaLonga / latenciaCurta > 2) {
+            latenciaLonga *= 0.95;
+        }
+        // Com pouca carga a latência não diz nada sobre o limite
+        if (emAndamentoNoInicio < limite / 2) {
+            return;
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaLonga / latenciaCurta));
+        double novo = limite * gradiente + Math.sqrt(limite);
+        novo = limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(minimo, Math.min(maximo, novo));
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    double limite() {
+        return limite;
+    }
+}
@@ -0,0 +1,181 @@
+package com.cadastro.limite;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limites de taxa por cliente e de concorrência nos endpoints configurados (usuarios.limites.*)
+ * 
+ * Para cada requisição de um endpoint limitado:
+ * - o balde do cliente (chave de API do cabeçalho configurado, se estiver entre as chaves
+ *   conhecidas, ou IP) é consultado primeiro;
+ *   sem ficha, a resposta é 429 Too Many Requests com Retry-After;
+ * - em seguida, com o limite de concorrência adaptativo ligado, a requisição precisa de uma
+ *   vaga; sem vaga, a resposta é 503 Service Unavailable. O limite cai quando a latência do
+ *   endpoint sobe (banco lento ou disputado), e as rajadas de cadastro deixam de ocupar todas
+ *   as threads do Tomcat e conexões do pool enquanto as leituras continuam sendo atendidas.
+ * 
+ * As recusas são contadas em usuarios.limites.rejeicoes (por endpoint e motivo), e o limite
+ * atual, as requisições em andamento e os clientes em memória ficam em gauges.
+ * Só vale para endpoints síncronos: a latência medida é a do retorno da cadeia de filtros.
+ */
+@Component
+@Slf4j
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final LimitesProperties configuracao;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<EndpointLimitado> endpoints;
+
+    public LimiteRequisicoesFilter(LimitesProperties configuracao, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.configuracao = configuracao;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        List<EndpointLimitado> limitados = new ArrayList<>();
+        for (Map.Entry<String, LimitesProperties.Endpoint> entrada : configuracao.getEndpoints().entrySet()) {
+            limitados.add(new EndpointLimitado(entrada.getKey(), entrada.getValue()));
+        }
+        this.endpoints = Collections.unmodifiableList(limitados);
+        log.info("Limites de requisições {} para {}", configuracao.isHabilitado() ? "habilitados" : "desabilitados",
+                configuracao.getEndpoints().keySet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !configuracao.isHabilitado() || endpoints.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointLimitado endpoint = localizar(request);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (endpoint.taxa != null) {
+            long esperaNanos = endpoint.taxa.consumir(cliente(request));
+            if (esperaNanos > 0) {
+                long segundos = Math.max(1, (esperaNanos + 999_999_999L) / 1_000_000_000L);
+                recusar(response, endpoint, "taxa", HttpStatus.TOO_MANY_REQUESTS, segundos,
+                        "Muitas requisições; tente novamente em " + segundos + "s");
+                return;
+            }
+        }
+
+        if (endpoint.concorrencia == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int emAndamento = endpoint.concorrencia.adquirir();
+        if (emAndamento == 0) {
+            recusar(response, endpoint, "concorrencia", HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "Serviço sobrecarregado; tente novamente em instantes");
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            endpoint.concorrencia.liberar(System.nanoTime() - inicio, emAndamento);
+        }
+    }
+
+    private EndpointLimitado localizar(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        for (EndpointLimitado endpoint : endpoints) {
+            if (endpoint.caminho.equals(caminho) && endpoint.metodo.equalsIgnoreCase(request.getMethod())) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Chave de API, se for uma das conhecidas; qualquer outro valor do cabeçalho é ignorado,
+     * senão um cliente poderia ganhar um balde novo a cada requisição trocando a chave
+     */
+    private String cliente(HttpServletRequest request) {
+        String chave = request.getHeader(configuracao.getCabecalhoChave());
+        if (chave != null && configuracao.getChaves().contains(chave)) {
+            return "chave:" + chave;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void recusar(HttpServletResponse response, EndpointLimitado endpoint, String motivo, HttpStatus status,
+                         long retryAfterSegundos, String mensagem) throws IOException {
+        meterRegistry.counter("usuarios.limites.rejeicoes", "endpoint", endpoint.nome, "motivo", motivo).increment();
+        log.debug("Requisição recusada em {} ({})", endpoint.nome, motivo);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Collections.singletonMap("erro", mensagem));
+    }
+
+    private final class EndpointLimitado {
+
+        private final String nome;
+        private final String metodo;
+        private final String caminho;
+        private final LimiteTaxa taxa;
+        private final LimiteConcorrenciaAdaptativo concorrencia;
+
+        EndpointLimitado(String nome, LimitesProperties.Endpoint endpoint) {
+            this.nome = nome;
+            this.metodo = endpoint.getMetodo();
+            this.caminho = endpoint.getCaminho();
+            if (metodo == null || caminho == null) {
+                throw new IllegalStateException("usuarios.limites.endpoints." + nome + " requer metodo e caminho");
+            }
+            this.taxa = endpoint.getTaxa() > 0
+                    ? new LimiteTaxa(endpoint.getTaxa(), endpoint.getRajada(),
+                            configuracao.getMaximoClientes(), configuracao.getExpiracaoCliente())
+                    : null;
+            this.concorrencia = endpoint.getConcorrencia().isHabilitado()
+                    ? new LimiteConcorrenciaAdaptativo(endpoint.getConcorrencia())
+                    : null;
+
+            if (taxa != null) {
+                Gauge.builder("usuarios.limites.clientes", taxa, LimiteTaxa::clientes)
+                        .tag("endpoint", nome)
+                        .register(meterRegistry);
+            }
+            if (concorrencia != null) {
+                Gauge.builder("usuarios.limites.concorrencia.limite", concorrencia, LimiteConcorrenciaAdaptativo::limite)
+                        .tag("endpoint", nome)
+                        .register(meterRegistry);
+                Gauge.builder("usuarios.limites.concorrencia.em.andamento", concorrencia,
+                                LimiteConcorrenciaAdaptativo::emAndamento)
+                        .tag("endpoint", nome)
+                        .register(meterRegistry);
+            }
+            log.info("Endpoint {} {} limitado: taxa {}/s (rajada {}), concorrência adaptativa {}",
+                    metodo, caminho, endpoint.getTaxa(), endpoint.getRajada(),
+                    concorrencia != null ? "habilitada" : "desabilitada");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cadastro.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas (token bucket) por cliente, sem locks
+ * 
+ * Cada cliente tem um único AtomicLong com o instante teórico em que o balde volta a ficar
+ * cheio (algoritmo GCRA, equivalente ao balde de fichas): cada requisição o avança de um
+ * intervalo (1 / taxa) e é recusada se ele passar de "rajada" intervalos à frente do
+ * instante atual. A atualização é um compareAndSet, sem locks nem threads de reposição.
+ * 
+ * Os baldes ficam em um cache Caffeine com tamanho máximo e expiração por inatividade, então
+ * a memória é limitada mesmo com muitos IPs diferentes. Um balde descartado volta cheio.
+ */
+class LimiteTaxa {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final Cache<String, AtomicLong> baldes;
+
+    LimiteTaxa(double taxa, int rajada, long maximoClientes, Duration expiracaoCliente) {
+        this.intervaloNanos = (long) (1_000_000_000L / taxa);
+        this.toleranciaNanos = intervaloNanos * Math.max(rajada, 1);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoClientes)
+                .expireAfterAccess(expiracaoCliente)
+                .build();
+    }
+
+    /**
+     * Consome uma ficha do balde do cliente
+     * 
+     * @param cliente chave de API ou IP
+     * @return 0 se a requisição foi aceita; senão, nanossegundos até haver uma ficha
+     */
+    long consumir(String cliente) {
+        long agora = System.nanoTime();
+        AtomicLong cheio = baldes.get(cliente, c -> new AtomicLong(agora));
+        while (true) {
+            long atual = cheio.get();
+            long proximo = (atual - agora > 0 ? atual : agora) + intervaloNanos;
+            long excesso = proximo - agora - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (cheio.compareAndSet(atual, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    long clientes() {
+        return baldes.estimatedSize();
+    }
+}
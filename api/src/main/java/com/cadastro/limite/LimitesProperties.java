@@ -0,0 +1,86 @@
+package com.cadastro.limite;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuração dos limites de requisições por endpoint (usuarios.limites.*)
+ * 
+ * Cada entrada de "endpoints" identifica um endpoint pelo método e pelo caminho (sem o
+ * context-path) e define a taxa por cliente e, opcionalmente, o limite de concorrência
+ * adaptativo. Ex:
+ * 
+ * usuarios.limites.endpoints.cadastro.metodo=POST
+ * usuarios.limites.endpoints.cadastro.caminho=/usuarios
+ * usuarios.limites.endpoints.cadastro.taxa=5
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "usuarios.limites")
+public class LimitesProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Cabeçalho com a chave de API do cliente; sem ele, o cliente é identificado pelo IP
+     */
+    private String cabecalhoChave = "X-API-Key";
+
+    /**
+     * Chaves de API conhecidas; só elas ganham balde próprio. Uma chave fora da lista (ou a
+     * lista vazia) é ignorada e o cliente é identificado pelo IP
+     */
+    private Set<String> chaves = new HashSet<>();
+
+    /**
+     * Quantidade máxima de clientes com balde em memória, por endpoint
+     */
+    private long maximoClientes = 100_000;
+
+    /**
+     * Tempo sem requisições após o qual o balde de um cliente é descartado
+     */
+    private Duration expiracaoCliente = Duration.ofMinutes(10);
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+
+        private String metodo;
+        private String caminho;
+
+        /**
+         * Requisições por segundo por cliente; 0 desliga o limite de taxa
+         */
+        private double taxa;
+
+        /**
+         * Requisições que um cliente pode fazer de uma vez antes de ficar sujeito à taxa
+         */
+        private int rajada = 1;
+
+        private Concorrencia concorrencia = new Concorrencia();
+    }
+
+    @Data
+    public static class Concorrencia {
+
+        private boolean habilitado;
+        private int inicial = 20;
+        private int minimo = 2;
+        private int maximo = 200;
+
+        /**
+         * Quanto a latência recente pode superar a de referência antes de o limite diminuir
+         */
+        private double tolerancia = 1.5;
+    }
+}
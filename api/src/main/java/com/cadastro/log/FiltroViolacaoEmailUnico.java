@@ -0,0 +1,51 @@
+package com.cadastro.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.cadastro.entity.Usuario;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.Locale;
+
+/**
+ * Descarta do log do Hibernate só as violações da constraint de email único
+ * 
+ * O cadastro trata essa violação e responde 409; sem o filtro, cada email duplicado gera um
+ * WARN e um ou dois ERROR com o SQL. Os demais erros de SQL (deadlock, timeout, valor longo
+ * demais, outras constraints) continuam no log. O WARN "SQLState: 23505" não traz o nome da
+ * constraint e também é descartado; quando a violação é de outra constraint, o ERROR seguinte,
+ * com a mensagem completa, é mantido.
+ */
+public class FiltroViolacaoEmailUnico extends TurboFilter {
+
+    private static final String SQL_EXCEPTION_HELPER = "org.hibernate.engine.jdbc.spi.SqlExceptionHelper";
+    private static final String BATCHING_BATCH = "org.hibernate.engine.jdbc.batch.internal.BatchingBatch";
+    private static final String ESTADO_VIOLACAO_UNICA = "SQLState: 23505";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String formato, Object[] parametros,
+                              Throwable erro) {
+        if (formato == null || level == null || !level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String nome = logger.getName();
+        if (!SQL_EXCEPTION_HELPER.equals(nome) && !BATCHING_BATCH.equals(nome)) {
+            return FilterReply.NEUTRAL;
+        }
+        String mensagem = parametros == null ? formato : MessageFormatter.arrayFormat(formato, parametros).getMessage();
+        if (level == Level.WARN && mensagem.contains(ESTADO_VIOLACAO_UNICA)) {
+            return FilterReply.DENY;
+        }
+        if (mencionaEmailUnico(mensagem) || (erro != null && mencionaEmailUnico(erro.getMessage()))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static boolean mencionaEmailUnico(String texto) {
+        return texto != null && texto.toLowerCase(Locale.ROOT).contains(Usuario.CONSTRAINT_EMAIL_UNICO);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cadastro.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Log de acesso por amostragem: uma linha por requisição sorteada
+ * 
+ * Registra só a fração configurada das requisições (usuarios.log.requisicoes.amostragem),
+ * mais todas as que terminam com erro 5xx ou passam do limiar de lentidão. Emails no
+ * caminho são mascarados. No perfil prod os campos saem como atributos do JSON.
+ */
+@Component
+@Slf4j
+public class LogRequisicoesFilter extends OncePerRequestFilter {
+
+    private final double amostragem;
+    private final long limiarLentoNanos;
+
+    public LogRequisicoesFilter(@Value("${usuarios.log.requisicoes.amostragem:0.01}") double amostragem,
+                                @Value("${usuarios.log.requisicoes.limiar-lento:1s}") Duration limiarLento) {
+        this.amostragem = amostragem;
+        this.limiarLentoNanos = limiarLento.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            int status = response.getStatus();
+            boolean lenta = duracao >= limiarLentoNanos;
+            if (status >= 500 || lenta || ThreadLocalRandom.current().nextDouble() < amostragem) {
+                log.info("{} {} {} {} {}",
+                        kv("metodo", request.getMethod()),
+                        kv("caminho", MascaraDados.emailsEmTexto(request.getRequestURI())),
+                        kv("status", status),
+                        kv("duracaoMs", duracao / 1_000_000),
+                        kv("motivo", status >= 500 ? "erro" : lenta ? "lenta" : "amostra"));
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cadastro.log;
+
+import java.util.regex.Pattern;
+
+/**
+ * Mascaramento de dados pessoais antes de irem para o log
+ * 
+ * Ex: joao.silva@example.com vira j***@example.com. O domínio é mantido
+ * porque ajuda a diagnosticar problemas sem identificar o usuário.
+ */
+public final class MascaraDados {
+
+    private static final Pattern EMAIL_EM_TEXTO =
+            Pattern.compile("([^/?&=\\s@]|%(?!40)[0-9A-Fa-f]{2})+(@|%40)");
+
+    private MascaraDados() {
+    }
+
+    /**
+     * Mascara um email, mantendo a primeira letra e o domínio
+     */
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        int arroba = email.indexOf('@');
+        if (arroba <= 0) {
+            return "***";
+        }
+        return email.charAt(0) + "***" + email.substring(arroba);
+    }
+
+    /**
+     * Mascara os emails que aparecem em um texto, como o caminho /usuarios/email/{email}
+     */
+    public static String emailsEmTexto(String texto) {
+        if (texto == null || (texto.indexOf('@') < 0 && !texto.contains("%40"))) {
+            return texto;
+        }
+        return EMAIL_EM_TEXTO.matcher(texto).replaceAll("***$2");
+    }
+}
@@ -0,0 +1,51 @@
+package com.cadastro.particao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que entrega conexões do banco da partição em uso na thread (ParticoesUsuarios.naParticao)
+ * 
+ * A conexão é escolhida quando a transação começa; por isso a partição precisa estar definida
+ * antes dela. Fora de naParticao, as conexões são da partição 0.
+ */
+public class DataSourceParticionado extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<HikariDataSource> particoes;
+
+    public DataSourceParticionado(List<HikariDataSource> particoes) {
+        this.particoes = Collections.unmodifiableList(particoes);
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int p = 0; p < particoes.size(); p++) {
+            destinos.put(p, particoes.get(p));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(particoes.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Banco de cada partição, na ordem da configuração
+     */
+    public List<? extends DataSource> getParticoes() {
+        return particoes;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ParticoesUsuarios.particaoAtual();
+    }
+
+    @Override
+    public void close() {
+        particoes.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cadastro.particao;
+
+import com.cadastro.entity.Usuario;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Gerador de ID de Usuario: a sequence usuarios_seq, com a fatia do email nos bits baixos quando particionado
+ * 
+ * Sem particionamento o ID é o próprio valor da sequence (otimizador pooled, como antes).
+ * Com particionamento, o ID é valor * FATIAS + fatia do email, e a partição do usuário sai
+ * do ID. Cada partição tem sua própria sequence, começando em uma faixa exclusiva
+ * (ParticionamentoConfig), então os valores não se repetem entre partições mesmo com o
+ * otimizador reservando blocos de qualquer uma delas.
+ */
+public class GeradorIdUsuario extends SequenceStyleGenerator {
+
+    /**
+     * Propriedade do Hibernate que liga a codificação da fatia no ID (definida por ParticionamentoConfig)
+     */
+    public static final String PARTICIONADO = "cadastro.particionamento.habilitado";
+
+    private boolean particionado;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, params, serviceRegistry);
+        particionado = ConfigurationHelper.getBoolean(PARTICIONADO,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), false);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        Serializable valor = super.generate(session, object);
+        if (!particionado) {
+            return valor;
+        }
+        return ((Number) valor).longValue() * ParticoesUsuarios.FATIAS
+                + ParticoesUsuarios.fatiaDoEmail(((Usuario) object).getEmail());
+    }
+}
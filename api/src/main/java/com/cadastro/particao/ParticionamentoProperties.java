@@ -0,0 +1,43 @@
+package com.cadastro.particao;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuração do particionamento da tabela usuarios entre vários bancos (usuarios.particionamento.*)
+ * 
+ * Com o particionamento habilitado, cada entrada de "particoes" é um banco com a tabela
+ * usuarios completa (migrada pelo Flyway na inicialização) e spring.datasource.* deixa de
+ * ser usado. A ordem das entradas define o número de cada partição e não pode mudar; novas
+ * partições entram no fim da lista. Ex:
+ * 
+ * usuarios.particionamento.habilitado=true
+ * usuarios.particionamento.particoes[0].url=jdbc:h2:mem:particao0;DB_CLOSE_DELAY=-1
+ * usuarios.particionamento.particoes[1].url=jdbc:h2:mem:particao1;DB_CLOSE_DELAY=-1
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "usuarios.particionamento")
+public class ParticionamentoProperties {
+
+    private boolean habilitado;
+
+    /**
+     * Conexões máximas do pool de cada partição
+     */
+    private int tamanhoPool = 10;
+
+    private List<Particao> particoes = new ArrayList<>();
+
+    @Data
+    public static class Particao {
+
+        private String url;
+        private String usuario = "sa";
+        private String senha = "";
+    }
+}
@@ -0,0 +1,206 @@
+package com.cadastro.particao;
+
+import com.cadastro.entity.Usuario;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Roteamento dos usuários entre as partições
+ * 
+ * Cada usuário pertence a uma de FATIAS fatias, calculada pelo hash do email normalizado.
+ * A fatia vai nos bits baixos do ID (ver GeradorIdUsuario), então a partição de um usuário
+ * sai tanto do email quanto do ID, sem consulta a outro banco. As fatias são distribuídas
+ * entre as partições por hash consistente (jump consistent hash): ao acrescentar uma
+ * partição, só as fatias que passam para ela mudam de lugar (ver RebalanceamentoParticoes).
+ * 
+ * O acesso ao banco de uma partição acontece dentro de naParticao(...), que define a chave
+ * usada pelo DataSourceParticionado; a transação precisa começar dentro dele. Consultas em
+ * todas as partições (emTodas) rodam em paralelo, uma thread por partição.
+ * 
+ * Sem o particionamento habilitado há uma única partição e os métodos só executam a ação.
+ */
+@Component
+@Slf4j
+public class ParticoesUsuarios {
+
+    /**
+     * Quantidade de fatias; potência de 2, ocupa os 10 bits baixos do ID
+     */
+    public static final int FATIAS = 1024;
+
+    private static final ThreadLocal<Integer> PARTICAO_ATUAL = new ThreadLocal<>();
+
+    private final int quantidade;
+    private final ExecutorService executor;
+
+    public ParticoesUsuarios(ParticionamentoProperties configuracao) {
+        this.quantidade = configuracao.isHabilitado() ? configuracao.getParticoes().size() : 1;
+        if (quantidade < 1) {
+            throw new IllegalStateException("usuarios.particionamento.habilitado=true requer ao menos uma partição");
+        }
+        if (quantidade > 1) {
+            AtomicInteger sequencia = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(quantidade, tarefa -> {
+                Thread thread = new Thread(tarefa, "particoes-" + sequencia.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+        log.info("Usuários em {} partição(ões), {} fatias", quantidade, FATIAS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public boolean isParticionado() {
+        return quantidade > 1;
+    }
+
+    /**
+     * Fatia do email: hash do email normalizado, misturado para espalhar emails parecidos
+     */
+    public static int fatiaDoEmail(String email) {
+        int h = Usuario.normalizarEmail(email).hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (FATIAS - 1);
+    }
+
+    public int particaoDaFatia(int fatia) {
+        return quantidade == 1 ? 0 : distribuir(fatia, quantidade);
+    }
+
+    public int particaoDoEmail(String email) {
+        return quantidade == 1 ? 0 : distribuir(fatiaDoEmail(email), quantidade);
+    }
+
+    public int particaoDoId(long id) {
+        return quantidade == 1 ? 0 : distribuir((int) (id & (FATIAS - 1)), quantidade);
+    }
+
+    /**
+     * Jump consistent hash (Lamping e Veach): partição da fatia entre "quantidade" partições
+     */
+    static int distribuir(int fatia, int quantidade) {
+        long chave = fatia;
+        long b = -1;
+        long j = 0;
+        while (j < quantidade) {
+            b = j;
+            chave = chave * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((chave >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * Executa a ação com o banco da partição informada
+     */
+    public <T> T naParticao(int particao, Supplier<T> acao) {
+        if (quantidade == 1) {
+            return acao.get();
+        }
+        Integer anterior = PARTICAO_ATUAL.get();
+        PARTICAO_ATUAL.set(particao);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior == null) {
+                PARTICAO_ATUAL.remove();
+            } else {
+                PARTICAO_ATUAL.set(anterior);
+            }
+        }
+    }
+
+    public void naParticao(int particao, Runnable acao) {
+        naParticao(particao, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa a consulta em todas as partições, em paralelo, e devolve os resultados na ordem das partições
+     */
+    public <T> List<T> emTodas(IntFunction<T> consulta) {
+        if (quantidade == 1) {
+            return List.of(consulta.apply(0));
+        }
+        List<CompletableFuture<T>> pendentes = new ArrayList<>(quantidade);
+        for (int p = 0; p < quantidade; p++) {
+            int particao = p;
+            pendentes.add(CompletableFuture.supplyAsync(() -> naParticao(particao, () -> consulta.apply(particao)), executor));
+        }
+        List<T> resultados = new ArrayList<>(quantidade);
+        try {
+            for (CompletableFuture<T> pendente : pendentes) {
+                resultados.add(pendente.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return resultados;
+    }
+
+    /**
+     * Executa a ação em cada partição, uma depois da outra, na thread chamadora
+     */
+    public void emCada(IntConsumer acao) {
+        for (int p = 0; p < quantidade; p++) {
+            int particao = p;
+            naParticao(particao, () -> acao.accept(particao));
+        }
+    }
+
+    /**
+     * Agrupa os itens pela partição de cada um, em ordem de partição
+     */
+    public <T> Map<Integer, List<T>> agrupar(Collection<T> itens, ToIntFunction<T> particao) {
+        Map<Integer, List<T>> grupos = new TreeMap<>();
+        for (T item : itens) {
+            grupos.computeIfAbsent(particao.applyAsInt(item), p -> new ArrayList<>()).add(item);
+        }
+        return grupos;
+    }
+
+    /**
+     * Partição definida pela chamada a naParticao em andamento nesta thread (0 fora dela)
+     */
+    static int particaoAtual() {
+        Integer particao = PARTICAO_ATUAL.get();
+        return particao == null ? 0 : particao;
+    }
+}
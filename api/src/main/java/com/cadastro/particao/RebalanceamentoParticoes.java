@@ -0,0 +1,173 @@
+package com.cadastro.particao;
+
+import com.cadastro.cache.UsuarioCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Ferramenta de rebalanceamento: move cada usuário para a partição indicada pela fatia do seu ID
+ * 
+ * Ao acrescentar uma partição no fim de usuarios.particionamento.particoes, o hash consistente
+ * passa para ela cerca de 1/N das fatias, e os usuários dessas fatias ficam na partição
+ * antiga até o rebalanceamento. Cada partição é percorrida pelos IDs; os usuários fora do
+ * lugar são copiados em blocos para a partição de destino (em uma transação) e então
+ * removidos da origem. Um bloco interrompido pode ser repetido: os IDs que já estão no
+ * destino não são copiados de novo.
+ * 
+ * As linhas são copiadas por JDBC, coluna a coluna, sem passar pelo Hibernate; IDs, emails
+ * e versões não mudam, então índice de busca e estatísticas continuam válidos. Do cache só
+ * saem as entradas dos usuários movidos (consultas anteriores podem ter guardado a ausência).
+ * Até o fim do rebalanceamento, os usuários das fatias movidas não são encontrados; rode-o
+ * logo após a inclusão da partição, com os cadastros e deleções parados.
+ */
+@Service
+@Slf4j
+public class RebalanceamentoParticoes {
+
+    private static final int TAMANHO_BLOCO = 500;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    /**
+     * Quantidade de usuários em cada partição
+     *
+     * @return partições, fatias e usuários por partição
+     */
+    public Map<String, Object> estatisticas() {
+        List<Long> usuarios = new ArrayList<>();
+        for (DataSource banco : bancos()) {
+            usuarios.add(new JdbcTemplate(banco).queryForObject("select count(*) from usuarios", Long.class));
+        }
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("particoes", particoes.getQuantidade());
+        estatisticas.put("fatias", ParticoesUsuarios.FATIAS);
+        estatisticas.put("usuariosPorParticao", usuarios);
+        return estatisticas;
+    }
+
+    /**
+     * Move os usuários que estão fora da sua partição
+     *
+     * @param simular true para só contar os usuários fora do lugar, sem movê-los
+     * @return usuários verificados, fora do lugar (por partição de origem) e movidos
+     * @throws IllegalStateException se o particionamento estiver desabilitado
+     */
+    public synchronized Map<String, Object> rebalancear(boolean simular) {
+        List<? extends DataSource> bancos = bancos();
+        if (!particoes.isParticionado()) {
+            throw new IllegalStateException("Particionamento desabilitado");
+        }
+        long inicio = System.nanoTime();
+        long verificados = 0;
+        long movidos = 0;
+        List<Long> foraDoLugar = new ArrayList<>();
+
+        List<Map<Integer, List<Long>>> foraDoLugarPorOrigem = new ArrayList<>();
+        for (int origem = 0; origem < bancos.size(); origem++) {
+            int particaoOrigem = origem;
+            Map<Integer, List<Long>> porDestino = new TreeMap<>();
+            long[] lidos = {0};
+            JdbcTemplate jdbc = new JdbcTemplate(bancos.get(origem));
+            jdbc.setFetchSize(1000);
+            jdbc.query("select id from usuarios", linha -> {
+                long id = linha.getLong(1);
+                lidos[0]++;
+                int destino = particoes.particaoDoId(id);
+                if (destino != particaoOrigem) {
+                    porDestino.computeIfAbsent(destino, d -> new ArrayList<>()).add(id);
+                }
+            });
+            verificados += lidos[0];
+            foraDoLugar.add(porDestino.values().stream().mapToLong(List::size).sum());
+            foraDoLugarPorOrigem.add(porDestino);
+        }
+
+        if (!simular) {
+            for (int origem = 0; origem < bancos.size(); origem++) {
+                for (Map.Entry<Integer, List<Long>> destino : foraDoLugarPorOrigem.get(origem).entrySet()) {
+                    List<Long> ids = destino.getValue();
+                    for (int i = 0; i < ids.size(); i += TAMANHO_BLOCO) {
+                        movidos += mover(bancos.get(origem), bancos.get(destino.getKey()),
+                                ids.subList(i, Math.min(i + TAMANHO_BLOCO, ids.size())));
+                    }
+                    log.info("Rebalanceamento: {} usuários da partição {} para a {}", ids.size(), origem, destino.getKey());
+                }
+            }
+        }
+
+        log.info("Rebalanceamento {}: {} usuários verificados, {} fora do lugar, {} movidos em {} ms",
+                simular ? "simulado" : "concluído", verificados, foraDoLugar.stream().mapToLong(Long::longValue).sum(),
+                movidos, (System.nanoTime() - inicio) / 1_000_000);
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("simulado", simular);
+        resultado.put("verificados", verificados);
+        resultado.put("foraDoLugarPorParticao", foraDoLugar);
+        resultado.put("movidos", movidos);
+        return resultado;
+    }
+
+    /**
+     * Copia as linhas dos IDs para o destino, pulando as que já estão lá, e as remove da origem
+     *
+     * @return linhas copiadas
+     */
+    private int mover(DataSource origem, DataSource destino, List<Long> ids) {
+        String marcadores = String.join(",", Collections.nCopies(ids.size(), "?"));
+        JdbcTemplate jdbcOrigem = new JdbcTemplate(origem);
+        JdbcTemplate jdbcDestino = new JdbcTemplate(destino);
+
+        List<Map<String, Object>> linhas = jdbcOrigem.queryForList(
+                "select * from usuarios where id in (" + marcadores + ")", ids.toArray());
+        Set<Long> existentes = new HashSet<>(jdbcDestino.queryForList(
+                "select id from usuarios where id in (" + marcadores + ")", Long.class, ids.toArray()));
+
+        List<Object[]> novas = new ArrayList<>(linhas.size());
+        List<String> colunas = linhas.isEmpty() ? List.of() : new ArrayList<>(linhas.get(0).keySet());
+        for (Map<String, Object> linha : linhas) {
+            if (!existentes.contains(((Number) linha.get("id")).longValue())) {
+                novas.add(colunas.stream().map(linha::get).toArray());
+            }
+        }
+
+        if (!novas.isEmpty()) {
+            String insert = "insert into usuarios (" + String.join(",", colunas) + ") values ("
+                    + String.join(",", Collections.nCopies(colunas.size(), "?")) + ")";
+            new TransactionTemplate(new DataSourceTransactionManager(destino))
+                    .executeWithoutResult(status -> jdbcDestino.batchUpdate(insert, novas));
+        }
+        jdbcOrigem.update("delete from usuarios where id in (" + marcadores + ")", ids.toArray());
+        // Consultas feitas antes da cópia podem ter guardado "não encontrado" para esses usuários
+        for (Map<String, Object> linha : linhas) {
+            usuarioCache.invalidar(((Number) linha.get("id")).longValue(), (String) linha.get("email"));
+        }
+        return novas.size();
+    }
+
+    private List<? extends DataSource> bancos() {
+        if (dataSource instanceof DataSourceParticionado) {
+            return ((DataSourceParticionado) dataSource).getParticoes();
+        }
+        return List.of(dataSource);
+    }
+}
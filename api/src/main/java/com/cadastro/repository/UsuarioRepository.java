@@ -1,32 +1,225 @@
 package com.cadastro.repository;
 
+import com.cadastro.dto.UsuarioResponseDTO;
 import com.cadastro.entity.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Repositório para acesso aos dados de usuário
  * 
- * Fornece operações CRUD e consultas personalizadas para a entidade Usuario
+ * Fornece operações CRUD e consultas personalizadas para a entidade Usuario.
+ * As consultas de leitura da API selecionam só as colunas da resposta direto em
+ * UsuarioResponseDTO (sem carregar a senha nem criar entidades gerenciadas) e rodam
+ * em transações somente leitura; save/delete mantêm a configuração do JpaRepository.
+ * As deleções da API travam e leem as linhas de um bloco e as removem com um único delete
+ * em massa (deletarPorIds), na mesma transação e só com JPQL, portável entre bancos.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     /**
-     * Busca um usuário pelo email
+     * Início das consultas que projetam o usuário em UsuarioResponseDTO
+     */
+    String SELECT_DTO = "select new com.cadastro.dto.UsuarioResponseDTO(u.id, u.nome, u.sobrenome, u.email, "
+            + "u.cep, u.rua, u.numero, u.complemento, u.bairro, u.cidade, u.estado, u.dataCriacao, u.versao) from Usuario u ";
+
+    /**
+     * Busca os dados de resposta de um usuário pelo ID
+     * 
+     * @param id ID do usuário
+     * @return Optional contendo o usuário se encontrado
+     */
+    @Query(SELECT_DTO + "where u.id = :id")
+    Optional<UsuarioResponseDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Busca os dados de resposta de um usuário pelo email normalizado
      * 
-     * @param email email do usuário
+     * @param emailNormalizado email em minúsculas e sem espaços
      * @return Optional contendo o usuário se encontrado
      */
-    Optional<Usuario> findByEmail(String email);
+    @Query(SELECT_DTO + "where u.emailNormalizado = :email")
+    Optional<UsuarioResponseDTO> findDtoByEmailNormalizado(@Param("email") String emailNormalizado);
+
+    /**
+     * Retorna, entre os emails normalizados informados, os que já existem no banco de dados
+     * 
+     * Usado no cadastro em lote para verificar duplicidade de um bloco inteiro
+     * com uma única consulta.
+     * 
+     * @param emails emails normalizados a verificar
+     * @return emails normalizados já cadastrados
+     */
+    @Query("select u.emailNormalizado from Usuario u where u.emailNormalizado in :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    /**
+     * Busca os dados de resposta dos usuários com os IDs informados, sem ordem definida
+     * 
+     * @param ids IDs dos usuários
+     * @return usuários encontrados
+     */
+    @Query(SELECT_DTO + "where u.id in :ids")
+    List<UsuarioResponseDTO> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca a próxima página de usuários após o ID informado (paginação por chave)
+     * 
+     * @param id último ID da página anterior (0 para a primeira página)
+     * @param pageable limite de resultados
+     * @return usuários com ID maior que o informado, em ordem crescente de ID
+     */
+    @Query(SELECT_DTO + "where u.id > :id order by u.id")
+    List<UsuarioResponseDTO> findDtosAposId(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca a próxima página de usuários de uma cidade após o ID informado
+     */
+    @Query(SELECT_DTO + "where u.cidade = :cidade and u.id > :id order by u.id")
+    List<UsuarioResponseDTO> findDtosPorCidadeAposId(@Param("cidade") String cidade, @Param("id") Long id,
+                                                     Pageable pageable);
+
+    /**
+     * Busca a próxima página de usuários de um estado após o ID informado
+     */
+    @Query(SELECT_DTO + "where u.estado = :estado and u.id > :id order by u.id")
+    List<UsuarioResponseDTO> findDtosPorEstadoAposId(@Param("estado") String estado, @Param("id") Long id,
+                                                     Pageable pageable);
+
+    /**
+     * Busca a próxima página de usuários de uma cidade e estado após o ID informado
+     */
+    @Query(SELECT_DTO + "where u.cidade = :cidade and u.estado = :estado and u.id > :id order by u.id")
+    List<UsuarioResponseDTO> findDtosPorCidadeEstadoAposId(@Param("cidade") String cidade,
+                                                           @Param("estado") String estado,
+                                                           @Param("id") Long id, Pageable pageable);
 
     /**
-     * Verifica se um email já existe no banco de dados
+     * Início das consultas que leem, antes da deleção, o necessário para atualizar caches e
+     * estatísticas: id, email, cidade, estado e dataCriacao
+     */
+    String SELECT_REMOVIDOS = "select u.id, u.email, u.cidade, u.estado, u.dataCriacao from Usuario u ";
+
+    /**
+     * Busca, travando as linhas até o fim da transação, os usuários com os IDs informados
+     * 
+     * A trava (select ... for update) garante que as linhas devolvidas sejam exatamente as
+     * que deletarPorIds remove na mesma transação, mesmo com deleções concorrentes.
+     * IDs inexistentes simplesmente não aparecem no resultado.
+     * 
+     * @param ids IDs dos usuários
+     * @return linhas a remover (ver SELECT_REMOVIDOS)
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECT_REMOVIDOS + "where u.id in :ids")
+    List<Object[]> travarParaRemocao(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca, travando as linhas até o fim da transação, a próxima página de usuários
+     * cadastrados antes da data informada
+     * 
+     * @param antes data de criação limite (exclusiva)
+     * @param pageable tamanho do bloco
+     * @return linhas a remover (ver SELECT_REMOVIDOS); menos que o bloco quando não restam outras
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECT_REMOVIDOS + "where u.dataCriacao < :antes order by u.id")
+    List<Object[]> travarCriadosAntesDe(@Param("antes") LocalDateTime antes, Pageable pageable);
+
+    /**
+     * Remove os usuários com os IDs informados em um único comando (delete em massa, sem
+     * carregar entidades)
+     * 
+     * @param ids IDs dos usuários
+     * @return quantidade de linhas removidas
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Usuario u where u.id in :ids")
+    int deletarPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Conta os usuários por estado
+     * 
+     * @return linhas com estado e quantidade
+     */
+    @Query("select u.estado, count(u) from Usuario u group by u.estado")
+    List<Object[]> contarPorEstado();
+
+    /**
+     * Conta os usuários por cidade e estado
+     * 
+     * @return linhas com cidade, estado e quantidade
+     */
+    @Query("select u.cidade, u.estado, count(u) from Usuario u group by u.cidade, u.estado")
+    List<Object[]> contarPorCidadeEstado();
+
+    /**
+     * Conta os cadastros por dia da data de criação
+     * 
+     * @return linhas com o dia (java.sql.Date) e a quantidade
+     */
+    @Query("select cast(u.dataCriacao as date), count(u) from Usuario u group by cast(u.dataCriacao as date)")
+    List<Object[]> contarPorDiaCadastro();
+
+    /**
+     * Percorre todos os usuários em ordem de ID usando um cursor do banco
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final; o fetch size
+     * limita quantas linhas o driver mantém em memória por vez.
+     * 
+     * @return stream de usuários
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    Stream<Usuario> streamAllByOrderByIdAsc();
+
+    /**
+     * Percorre os emails normalizados de todos os usuários usando um cursor do banco
+     * 
+     * Usado para carregar o filtro de emails cadastrados; deve ser consumido
+     * dentro de uma transação e fechado ao final.
+     * 
+     * @return stream de emails
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.emailNormalizado from Usuario u")
+    Stream<String> streamAllEmails();
+
+    /**
+     * Percorre os dados de resposta de todos os usuários usando um cursor do banco
+     * 
+     * Usado para carregar o índice de busca; deve ser consumido dentro de uma
+     * transação e fechado ao final.
      * 
-     * @param email email a verificar
-     * @return true se o email existe, false caso contrário
+     * @return stream de usuários
      */
-    boolean existsByEmail(String email);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO)
+    Stream<UsuarioResponseDTO> streamAllDtos();
 }
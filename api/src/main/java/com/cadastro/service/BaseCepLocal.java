@@ -0,0 +1,257 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.EnderecoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Base de CEPs carregada em memória a partir de arquivos CSV
+ * 
+ * Formato de cada linha: cep;rua;bairro;cidade;estado (linhas iniciadas por # são ignoradas).
+ * A base embutida (classpath:cep/ceps.csv) é uma amostra; a base completa pode ser
+ * informada em usuarios.cep.arquivo e é somada à embutida.
+ * 
+ * O CEP é guardado como int em uma tabela hash de endereçamento aberto (sem objetos
+ * por entrada). Ruas, bairros e localidades (cidade/estado) repetidos são armazenados
+ * uma única vez e referenciados por índice.
+ */
+@Component
+@Slf4j
+public class BaseCepLocal {
+
+    private static final String BASE_EMBUTIDA = "cep/ceps.csv";
+
+    private int[] chaves = new int[1024];
+    private int[] registros = new int[1024];
+    private int quantidade;
+
+    private int[] ruas = new int[1024];
+    private int[] bairros = new int[1024];
+    private int[] localidades = new int[1024];
+
+    private final TabelaTextos textos = new TabelaTextos();
+    private final TabelaTextos tabelaLocalidades = new TabelaTextos();
+    private String[] cidades = new String[64];
+    private String[] estados = new String[64];
+
+    public BaseCepLocal(@Value("${usuarios.cep.arquivo:}") String arquivo) {
+        long inicio = System.nanoTime();
+        carregar(new ClassPathResource(BASE_EMBUTIDA));
+        if (!arquivo.isEmpty()) {
+            carregar(new FileSystemResource(arquivo));
+        }
+        // Após a carga só há consultas por índice; os mapas de deduplicação podem ser descartados
+        textos.descartarIndice();
+        tabelaLocalidades.descartarIndice();
+        log.info("Base local de CEPs carregada com {} CEPs, {} textos e {} localidades em {} ms",
+                quantidade, textos.tamanho(), tabelaLocalidades.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Busca um CEP na base local
+     * 
+     * @param cep CEP como número de 8 dígitos (ver {@link #converter(String)})
+     * @return endereço, ou vazio se o CEP não estiver na base
+     */
+    public Optional<EnderecoDTO> buscar(int cep) {
+        int posicao = posicao(cep);
+        if (chaves[posicao] != cep) {
+            return Optional.empty();
+        }
+        int registro = registros[posicao];
+        int localidade = localidades[registro];
+        return Optional.of(EnderecoDTO.builder()
+                .cep(formatar(cep))
+                .rua(textos.valor(ruas[registro]))
+                .bairro(textos.valor(bairros[registro]))
+                .cidade(cidades[localidade])
+                .estado(estados[localidade])
+                .origem("local")
+                .build());
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Converte um CEP com ou sem hífen em número
+     * 
+     * @return CEP numérico, ou -1 se o formato for inválido
+     */
+    public static int converter(String cep) {
+        if (cep == null) {
+            return -1;
+        }
+        String digitos = cep.length() == 9 && cep.charAt(5) == '-'
+                ? cep.substring(0, 5) + cep.substring(6)
+                : cep;
+        if (digitos.length() != 8) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = digitos.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        // Nenhum CEP começa com 00000; o zero também marca posição vazia na tabela
+        return valor < 1000 ? -1 : valor;
+    }
+
+    /**
+     * Formata um CEP numérico como 00000-000
+     */
+    public static String formatar(int cep) {
+        String digitos = String.format("%08d", cep);
+        return digitos.substring(0, 5) + "-" + digitos.substring(5);
+    }
+
+    private void carregar(Resource recurso) {
+        if (!recurso.exists()) {
+            log.warn("Arquivo de CEPs não encontrado: {}", recurso.getDescription());
+            return;
+        }
+        int linhas = 0;
+        int ignoradas = 0;
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8), 1 << 16)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isEmpty() || linha.charAt(0) == '#') {
+                    continue;
+                }
+                linhas++;
+                String[] campos = linha.split(";", -1);
+                int cep = campos.length == 5 ? converter(campos[0].trim()) : -1;
+                if (cep < 0) {
+                    ignoradas++;
+                    continue;
+                }
+                adicionar(cep, campos[1].trim(), campos[2].trim(), campos[3].trim(), campos[4].trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler arquivo de CEPs: " + recurso.getDescription(), e);
+        }
+        if (ignoradas > 0) {
+            log.warn("{} de {} linhas inválidas ignoradas em {}", ignoradas, linhas, recurso.getDescription());
+        }
+    }
+
+    private void adicionar(int cep, String rua, String bairro, String cidade, String estado) {
+        if ((quantidade + 1) * 2 > chaves.length) {
+            redimensionarTabela();
+        }
+        int posicao = posicao(cep);
+        int registro;
+        if (chaves[posicao] == cep) {
+            // CEP repetido: a última linha prevalece
+            registro = registros[posicao];
+        } else {
+            registro = quantidade++;
+            if (registro == ruas.length) {
+                ruas = Arrays.copyOf(ruas, registro * 2);
+                bairros = Arrays.copyOf(bairros, registro * 2);
+                localidades = Arrays.copyOf(localidades, registro * 2);
+            }
+            chaves[posicao] = cep;
+            registros[posicao] = registro;
+        }
+        ruas[registro] = textos.indice(rua);
+        bairros[registro] = textos.indice(bairro);
+        localidades[registro] = localidade(cidade, estado);
+    }
+
+    private int localidade(String cidade, String estado) {
+        int anterior = tabelaLocalidades.tamanho();
+        int indice = tabelaLocalidades.indice(estado + '|' + cidade);
+        if (indice == anterior) {
+            if (indice == cidades.length) {
+                cidades = Arrays.copyOf(cidades, indice * 2);
+                estados = Arrays.copyOf(estados, indice * 2);
+            }
+            cidades[indice] = cidade;
+            estados[indice] = estado.intern();
+        }
+        return indice;
+    }
+
+    /**
+     * Posição do CEP na tabela (sondagem linear); a posição está vazia se o CEP não existir
+     */
+    private int posicao(int cep) {
+        int mascara = chaves.length - 1;
+        int posicao = (cep * 0x9E3779B9) >>> 1 & mascara;
+        while (chaves[posicao] != 0 && chaves[posicao] != cep) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    private void redimensionarTabela() {
+        int[] chavesAntigas = chaves;
+        int[] registrosAntigos = registros;
+        chaves = new int[chavesAntigas.length * 2];
+        registros = new int[chavesAntigas.length * 2];
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != 0) {
+                int posicao = posicao(chavesAntigas[i]);
+                chaves[posicao] = chavesAntigas[i];
+                registros[posicao] = registrosAntigos[i];
+            }
+        }
+    }
+
+    /**
+     * Tabela de textos distintos: cada texto é guardado uma vez e referenciado por índice
+     */
+    private static class TabelaTextos {
+
+        private Map<String, Integer> indices = new HashMap<>();
+        private String[] valores = new String[1024];
+        private int tamanho;
+
+        int indice(String texto) {
+            Integer existente = indices.get(texto);
+            if (existente != null) {
+                return existente;
+            }
+            int indice = tamanho++;
+            if (indice == valores.length) {
+                valores = Arrays.copyOf(valores, indice * 2);
+            }
+            valores[indice] = texto;
+            indices.put(texto, indice);
+            return indice;
+        }
+
+        String valor(int indice) {
+            return valores[indice];
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        void descartarIndice() {
+            indices = null;
+            valores = Arrays.copyOf(valores, tamanho);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.cadastro.service;
+
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.FiltroEmailsCadastrados;
+import com.cadastro.cache.UsuarioCache;
+import com.cadastro.cache.VersaoColecaoUsuarios;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.estatisticas.EstatisticasUsuarios;
+import com.cadastro.exception.EmailJaCadastradoException;
+import com.cadastro.exception.ServicoSaturadoException;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cadastro individual com commit em grupo (opcional, usuarios.cadastro-agrupado.habilitado)
+ * 
+ * As threads de requisição colocam o usuário já validado e com o hash da senha em uma fila
+ * limitada e esperam o resultado. Uma única thread de gravação retira da fila lotes de até
+ * "tamanho-lote" usuários, esperando no máximo "espera-maxima" depois do primeiro, e os
+ * insere em uma só transação: um commit (e um fsync, com persistência durável) para o lote
+ * inteiro, em vez de um por cadastro.
+ * 
+ * Cada requisição recebe o seu próprio resultado: o usuário cadastrado, ou
+ * EmailJaCadastradoException se o email já existia no banco ou apareceu antes no mesmo lote.
+ * Se o lote falhar mesmo assim (ex: corrida com o cadastro em lote), ele é desfeito e os
+ * usuários são gravados um a um, para que o erro fique só com quem o causou. Com o
+ * particionamento, o lote vira uma transação por partição envolvida.
+ * 
+ * Fila cheia ou espera acima de "timeout" resultam em ServicoSaturadoException (429). O
+ * timeout só cancela um pedido que a thread de gravação ainda não assumiu; depois de
+ * assumido, o pedido pode ser gravado, e a requisição espera o resultado real em vez de
+ * responder 429 para um usuário que acabou cadastrado.
+ */
+@Service
+@Slf4j
+public class CadastroAgrupadoService {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private FiltroEmailsCadastrados filtroEmailsCadastrados;
+
+    @Autowired
+    private IndiceBuscaUsuarios indiceBusca;
+
+    @Autowired
+    private VersaoColecaoUsuarios versaoColecao;
+
+    @Autowired
+    private EstatisticasUsuarios estatisticasUsuarios;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${usuarios.cadastro-agrupado.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${usuarios.cadastro-agrupado.tamanho-lote:64}")
+    private int tamanhoLote;
+
+    @Value("${usuarios.cadastro-agrupado.espera-maxima:5ms}")
+    private Duration esperaMaxima;
+
+    @Value("${usuarios.cadastro-agrupado.capacidade-fila:1024}")
+    private int capacidadeFila;
+
+    @Value("${usuarios.cadastro-agrupado.timeout:10s}")
+    private Duration timeout;
+
+    private BlockingQueue<Pedido> fila;
+    private Thread gravador;
+    private volatile boolean executando;
+    private DistributionSummary tamanhoLotes;
+    private Timer tempoGravacao;
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        tamanhoLotes = DistributionSummary.builder("usuarios.cadastro.agrupado.lote")
+                .description("Usuários gravados por commit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        tempoGravacao = Timer.builder("usuarios.cadastro.agrupado.gravacao")
+                .description("Duração da gravação e do commit de cada lote")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("usuarios.cadastro.agrupado.fila", fila, BlockingQueue::size).register(meterRegistry);
+
+        executando = true;
+        gravador = new Thread(this::gravar, "cadastro-agrupado");
+        gravador.setDaemon(true);
+        gravador.start();
+        log.info("Cadastro com commit em grupo habilitado (lote {}, espera máxima {}, fila {})",
+                tamanhoLote, esperaMaxima, capacidadeFila);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (!habilitado) {
+            return;
+        }
+        executando = false;
+        gravador.interrupt();
+        try {
+            gravador.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Pedido> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        restantes.forEach(p -> p.resultado.completeExceptionally(
+                new ServicoSaturadoException("Aplicação em encerramento")));
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Enfileira o usuário para o próximo lote e espera o commit
+     * 
+     * @param usuario usuário validado, com o hash da senha
+     * @return dados do usuário cadastrado
+     * @throws EmailJaCadastradoException se o email já existe
+     * @throws ServicoSaturadoException se a fila estiver cheia ou o lote não terminar a tempo
+     */
+    public UsuarioResponseDTO cadastrar(Usuario usuario) {
+        Pedido pedido = new Pedido(usuario);
+        if (!fila.offer(pedido)) {
+            meterRegistry.counter("usuarios.cadastro.agrupado.rejeicoes").increment();
+            throw new ServicoSaturadoException("Muitos cadastros em andamento. Tente novamente em instantes");
+        }
+        try {
+            try {
+                return pedido.resultado.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pedido.cancelar()) {
+                    throw new ServicoSaturadoException("Tempo esgotado aguardando a gravação do cadastro");
+                }
+                // Já assumido pela thread de gravação: o cadastro pode ter sido gravado, vale o resultado do lote
+                return pedido.resultado.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Erro ao gravar cadastro", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cadastro interrompido", e);
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: forma lotes por tamanho ou tempo e os grava
+     */
+    private void gravar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        while (executando) {
+            try {
+                Pedido primeiro = fila.take();
+                lote.add(primeiro);
+                long limite = System.nanoTime() + esperaMaxima.toNanos();
+                while (lote.size() < tamanhoLote) {
+                    fila.drainTo(lote, tamanhoLote - lote.size());
+                    long restante = limite - System.nanoTime();
+                    if (lote.size() >= tamanhoLote || restante <= 0) {
+                        break;
+                    }
+                    Pedido proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                tamanhoLotes.record(lote.size());
+                tempoGravacao.record(() -> gravarLote(lote));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(p -> p.resultado.completeExceptionally(
+                        new ServicoSaturadoException("Aplicação em encerramento")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na gravação de um lote de cadastros", e);
+                lote.forEach(p -> p.resultado.completeExceptionally(e));
+            }
+            lote.clear();
+        }
+    }
+
+    private void gravarLote(List<Pedido> lote) {
+        // Emails repetidos no próprio lote: só o primeiro segue
+        List<Pedido> candidatos = new ArrayList<>(lote.size());
+        Set<String> emails = new HashSet<>();
+        for (Pedido pedido : lote) {
+            if (!pedido.assumir()) {
+                // Desistiu por timeout antes de ser gravado
+                continue;
+            }
+            if (emails.add(Usuario.normalizarEmail(pedido.usuario.getEmail()))) {
+                candidatos.add(pedido);
+            } else {
+                pedido.resultado.completeExceptionally(new EmailJaCadastradoException());
+            }
+        }
+
+        // Um commit por partição envolvida no lote
+        particoes.agrupar(candidatos, pedido -> particoes.particaoDoEmail(pedido.usuario.getEmail()))
+                .forEach((particao, grupo) -> particoes.naParticao(particao, () -> gravarCandidatos(grupo)));
+    }
+
+    /**
+     * Grava os candidatos de uma mesma partição em uma única transação
+     */
+    private void gravarCandidatos(List<Pedido> candidatos) {
+        TransactionStatus transacao = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        List<Pedido> gravados;
+        try {
+            gravados = inserir(candidatos);
+            transactionManager.commit(transacao);
+        } catch (DataIntegrityViolationException e) {
+            if (!transacao.isCompleted()) {
+                transactionManager.rollback(transacao);
+            }
+            log.debug("Lote de {} cadastros desfeito ({}); gravando um a um", candidatos.size(), e.getMessage());
+            gravarUmAUm(candidatos);
+            return;
+        } catch (RuntimeException e) {
+            if (!transacao.isCompleted()) {
+                transactionManager.rollback(transacao);
+            }
+            throw e;
+        }
+        gravados.forEach(this::concluir);
+    }
+
+    /**
+     * Insere os candidatos na transação corrente, recusando os emails já cadastrados
+     * 
+     * @return pedidos inseridos (concluídos após o commit)
+     */
+    private List<Pedido> inserir(List<Pedido> candidatos) {
+        // Só os possíveis positivos do filtro de emails precisam ser consultados no banco
+        Set<String> aConsultar = new HashSet<>();
+        for (Pedido pedido : candidatos) {
+            String email = Usuario.normalizarEmail(pedido.usuario.getEmail());
+            if (filtroEmailsCadastrados.podeExistir(email)) {
+                aConsultar.add(email);
+            }
+        }
+        Set<String> existentes = aConsultar.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(usuarioRepository.findEmailsExistentes(aConsultar));
+
+        List<Pedido> novos = new ArrayList<>(candidatos.size());
+        List<Usuario> usuarios = new ArrayList<>(candidatos.size());
+        for (Pedido pedido : candidatos) {
+            if (existentes.contains(Usuario.normalizarEmail(pedido.usuario.getEmail()))) {
+                pedido.resultado.completeExceptionally(new EmailJaCadastradoException());
+            } else {
+                novos.add(pedido);
+                usuarios.add(pedido.usuario);
+            }
+        }
+        // INSERTs em lotes JDBC (hibernate.jdbc.batch_size); o flush pelo repositório traduz a violação
+        usuarioRepository.saveAllAndFlush(usuarios);
+        entityManager.clear();
+        registrarAposCommit(novos);
+        return novos;
+    }
+
+    /**
+     * Grava cada pedido em sua própria transação, para isolar o que violou uma constraint
+     */
+    private void gravarUmAUm(List<Pedido> pedidos) {
+        for (Pedido pedido : pedidos) {
+            if (pedido.resultado.isDone()) {
+                continue;
+            }
+            // Volta a ser uma entidade nova: sem o ID e a versão atribuídos no lote desfeito
+            pedido.usuario.setId(null);
+            pedido.usuario.setVersao(null);
+            TransactionStatus transacao = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            try {
+                usuarioRepository.saveAndFlush(pedido.usuario);
+                entityManager.clear();
+                registrarAposCommit(List.of(pedido));
+                transactionManager.commit(transacao);
+                concluir(pedido);
+            } catch (RuntimeException e) {
+                if (!transacao.isCompleted()) {
+                    transactionManager.rollback(transacao);
+                }
+                pedido.resultado.completeExceptionally(
+                        e instanceof DataIntegrityViolationException
+                                && UsuarioService.violouEmailUnico((DataIntegrityViolationException) e)
+                                ? new EmailJaCadastradoException()
+                                : e);
+            }
+        }
+    }
+
+    private void registrarAposCommit(List<Pedido> pedidos) {
+        if (!pedidos.isEmpty()) {
+            versaoColecao.alterarAposCommit();
+        }
+        for (Pedido pedido : pedidos) {
+            Usuario novo = pedido.usuario;
+            usuarioCache.invalidarAposCommit(novo.getId(), novo.getEmail());
+            indiceBusca.adicionarAposCommit(novo.getId(), novo.getNome(), novo.getSobrenome(),
+                    novo.getEmail(), novo.getCidade());
+            estatisticasUsuarios.registrarAposCommit(novo);
+        }
+    }
+
+    private void concluir(Pedido pedido) {
+        filtroEmailsCadastrados.registrar(pedido.usuario.getEmail());
+        pedido.resultado.complete(UsuarioResponseDTO.fromEntity(pedido.usuario));
+    }
+
+    private static final class Pedido {
+
+        private static final int PENDENTE = 0;
+        private static final int ASSUMIDO = 1;
+        private static final int CANCELADO = 2;
+
+        private final Usuario usuario;
+        private final CompletableFuture<UsuarioResponseDTO> resultado = new CompletableFuture<>();
+        private final AtomicInteger estado = new AtomicInteger(PENDENTE);
+
+        Pedido(Usuario usuario) {
+            this.usuario = usuario;
+        }
+
+        /**
+         * Thread de gravação: assume o pedido antes de inseri-lo; false se a requisição já desistiu
+         */
+        boolean assumir() {
+            return estado.compareAndSet(PENDENTE, ASSUMIDO);
+        }
+
+        /**
+         * Requisição: desiste do pedido por timeout; false se ele já foi assumido para gravação
+         */
+        boolean cancelar() {
+            return estado.compareAndSet(PENDENTE, CANCELADO);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.EnderecoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Serviço de consulta de endereço por CEP
+ * 
+ * Consulta primeiro a base local e, se o CEP não estiver nela e houver um resolvedor
+ * remoto configurado, o serviço remoto. As respostas remotas (inclusive "CEP inexistente")
+ * ficam em um cache com tamanho máximo. Sem resolvedor remoto, funciona só com a base local.
+ * 
+ * Também verifica, opcionalmente, se a cidade/estado de um cadastro conferem com o CEP.
+ */
+@Service
+@Slf4j
+public class CepService {
+
+    private final BaseCepLocal baseLocal;
+    private final ResolvedorCepRemoto resolvedorRemoto;
+    private final Cache<Integer, Optional<EnderecoDTO>> cacheRemoto;
+    private final boolean verificarCadastro;
+
+    public CepService(BaseCepLocal baseLocal,
+                      ObjectProvider<ResolvedorCepRemoto> resolvedorRemoto,
+                      @Value("${usuarios.cep.cache.tamanho-maximo:10000}") long tamanhoCache,
+                      @Value("${usuarios.cep.cache.expiracao:1d}") Duration expiracaoCache,
+                      @Value("${usuarios.cep.verificar-cadastro:false}") boolean verificarCadastro,
+                      MeterRegistry meterRegistry) {
+        this.baseLocal = baseLocal;
+        this.resolvedorRemoto = resolvedorRemoto.getIfAvailable();
+        this.verificarCadastro = verificarCadastro;
+        this.cacheRemoto = Caffeine.newBuilder()
+                .maximumSize(tamanhoCache)
+                .expireAfterWrite(expiracaoCache)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheRemoto, "cep.remoto");
+        log.info("Consulta de CEP: base local com {} CEPs, resolvedor remoto {}", baseLocal.getQuantidade(),
+                this.resolvedorRemoto == null ? "desabilitado" : this.resolvedorRemoto.getClass().getSimpleName());
+    }
+
+    /**
+     * Busca o endereço de um CEP
+     * 
+     * @param cep CEP no formato 00000-000 ou 00000000
+     * @return endereço, ou vazio se o CEP não for encontrado
+     * @throws IllegalArgumentException se o formato do CEP for inválido
+     * @throws IllegalStateException se o serviço remoto estiver indisponível
+     */
+    public Optional<EnderecoDTO> buscar(String cep) {
+        int numero = BaseCepLocal.converter(cep);
+        if (numero < 0) {
+            throw new IllegalArgumentException("CEP deve estar no formato 00000-000");
+        }
+        Optional<EnderecoDTO> local = baseLocal.buscar(numero);
+        if (local.isPresent() || resolvedorRemoto == null) {
+            return local;
+        }
+        return cacheRemoto.get(numero, resolvedorRemoto::resolver);
+    }
+
+    /**
+     * Confere a cidade e o estado informados no cadastro com o endereço do CEP
+     * 
+     * Só atua com usuarios.cep.verificar-cadastro=true. CEPs desconhecidos, com formato
+     * inválido (tratado pela validação do DTO) ou que não puderam ser consultados são aceitos.
+     * A comparação ignora acentos e maiúsculas.
+     * 
+     * @return mensagem de erro se o endereço não conferir; vazio caso contrário
+     */
+    public Optional<String> verificarEndereco(String cep, String cidade, String estado) {
+        if (!verificarCadastro || BaseCepLocal.converter(cep) < 0) {
+            return Optional.empty();
+        }
+        Optional<EnderecoDTO> endereco;
+        try {
+            endereco = buscar(cep);
+        } catch (IllegalStateException e) {
+            log.warn("Verificação de endereço ignorada para o CEP {}: {}", cep, e.getMessage());
+            return Optional.empty();
+        }
+        return endereco
+                .filter(e -> !comparavel(e.getCidade()).equals(comparavel(cidade))
+                        || !comparavel(e.getEstado()).equals(comparavel(estado)))
+                .map(e -> "Cidade/estado não conferem com o CEP " + e.getCep()
+                        + " (esperado: " + e.getCidade() + "/" + e.getEstado() + ")");
+    }
+
+    private static String comparavel(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cadastro.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos suportados na exportação em massa de usuários
+ */
+public enum FormatoExportacao {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoExportacao(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Converte o parâmetro da requisição no formato correspondente
+     * 
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+    public static FormatoExportacao porNome(String nome) {
+        if (nome != null) {
+            String normalizado = nome.trim().toLowerCase(Locale.ROOT);
+            for (FormatoExportacao formato : values()) {
+                if (formato.extensao.equals(normalizado)) {
+                    return formato;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido. Use 'ndjson' ou 'csv'");
+    }
+}
@@ -0,0 +1,149 @@
+package com.cadastro.service;
+
+import com.cadastro.exception.ServicoSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash de senhas (BCrypt) em um executor dedicado e limitado
+ * 
+ * O BCrypt é caro de propósito e dominaria a CPU do cadastro se rodasse nas threads de
+ * requisição. Aqui ele roda em um pool próprio (por padrão uma thread por núcleo), então
+ * no máximo esse número de hashes disputa a CPU com as consultas, como buscarUsuarioPorId.
+ * 
+ * A capacidade da etapa (threads + fila) é controlada por um semáforo: no cadastro
+ * individual, quando ela está cheia, o pedido é recusado na hora (429). O cadastro em lote
+ * usa um semáforo à parte, menor (usuarios.senha.vagas-lote), e espera vaga nele, o que
+ * desacelera a leitura da entrada; assim uma importação nunca ocupa as vagas do cadastro
+ * individual, e cada hash individual espera no máximo essas vagas de lote à sua frente.
+ */
+@Service
+@Slf4j
+public class HashSenhaService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final Semaphore vagas;
+    private final Semaphore vagasLote;
+    private final Duration timeout;
+    private final Counter rejeicoes;
+
+    public HashSenhaService(@Value("${usuarios.senha.custo:10}") int custo,
+                            @Value("${usuarios.senha.threads:0}") int threads,
+                            @Value("${usuarios.senha.fila:64}") int fila,
+                            @Value("${usuarios.senha.timeout:10s}") Duration timeout,
+                            @Value("${usuarios.senha.vagas-lote:0}") int vagasLote,
+                            MeterRegistry meterRegistry) {
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.encoder = new BCryptPasswordEncoder(custo);
+        this.vagas = new Semaphore(quantidadeThreads + fila);
+        this.vagasLote = new Semaphore(vagasLote > 0 ? vagasLote : quantidadeThreads);
+        this.timeout = timeout;
+
+        AtomicInteger sequencia = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(quantidadeThreads, quantidadeThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), tarefa -> {
+                    Thread thread = new Thread(tarefa, "hash-senha-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "hash-senha");
+        this.rejeicoes = meterRegistry.counter("usuarios.senha.rejeicoes");
+        Gauge.builder("usuarios.senha.vagas", vagas, Semaphore::availablePermits).register(meterRegistry);
+        Gauge.builder("usuarios.senha.vagas-lote", this.vagasLote, Semaphore::availablePermits).register(meterRegistry);
+
+        log.info("Hash de senha: BCrypt custo {}, {} threads, fila de {}", custo, quantidadeThreads, fila);
+    }
+
+    /**
+     * Gera o hash de uma senha, recusando o pedido se a etapa estiver saturada
+     * 
+     * A thread chamadora apenas espera o resultado; o cálculo roda no executor dedicado.
+     * 
+     * @param senha senha em texto puro
+     * @return hash BCrypt
+     * @throws ServicoSaturadoException se não houver vaga no executor
+     */
+    public String gerarHash(String senha) {
+        if (!vagas.tryAcquire()) {
+            rejeicoes.increment();
+            throw new ServicoSaturadoException("Muitos cadastros em andamento. Tente novamente em instantes");
+        }
+        return aguardar(enviar(senha, vagas));
+    }
+
+    /**
+     * Gera os hashes de várias senhas em paralelo, esperando vaga entre as vagas de lote
+     * 
+     * @param senhas senhas em texto puro
+     * @return hashes na mesma ordem das senhas
+     */
+    public List<String> gerarHashes(List<String> senhas) {
+        List<CompletableFuture<String>> pendentes = new ArrayList<>(senhas.size());
+        try {
+            for (String senha : senhas) {
+                vagasLote.acquire();
+                pendentes.add(enviar(senha, vagasLote));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de hashes interrompida", e);
+        }
+        List<String> hashes = new ArrayList<>(senhas.size());
+        for (CompletableFuture<String> pendente : pendentes) {
+            hashes.add(aguardar(pendente));
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Envia o cálculo ao executor; a vaga do semáforo informado já deve ter sido obtida e é liberada ao terminar
+     */
+    private CompletableFuture<String> enviar(String senha, Semaphore semaforo) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(senha), executor)
+                    .whenComplete((hash, erro) -> semaforo.release());
+        } catch (RuntimeException e) {
+            semaforo.release();
+            throw e;
+        }
+    }
+
+    private String aguardar(CompletableFuture<String> pendente) {
+        try {
+            return pendente.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServicoSaturadoException("Tempo esgotado aguardando o hash da senha");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro ao gerar hash da senha", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de hash interrompida", e);
+        }
+    }
+}
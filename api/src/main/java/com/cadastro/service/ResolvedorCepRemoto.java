@@ -0,0 +1,22 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.EnderecoDTO;
+
+import java.util.Optional;
+
+/**
+ * Consulta de CEP em um serviço externo, usada quando o CEP não está na base local
+ * 
+ * Para trocar o provedor basta registrar outro bean que implemente esta interface.
+ */
+public interface ResolvedorCepRemoto {
+
+    /**
+     * Resolve o endereço de um CEP
+     * 
+     * @param cep CEP como número de 8 dígitos
+     * @return endereço, ou vazio se o CEP não existir no serviço
+     * @throws IllegalStateException se o serviço estiver indisponível
+     */
+    Optional<EnderecoDTO> resolver(int cep);
+}
@@ -0,0 +1,204 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação em massa de usuários
+ * 
+ * Percorre a tabela com um cursor do banco (Stream JPA com fetch size) e escreve
+ * cada usuário diretamente na saída, limpando o contexto de persistência
+ * periodicamente. O uso de memória fica constante, independentemente do total de linhas.
+ * Com o particionamento, as partições são exportadas uma depois da outra, cada uma em
+ * ordem de ID.
+ */
+@Service
+@Slf4j
+public class UsuarioExportacaoService {
+
+    private static final String CABECALHO_CSV =
+            "id,nome,sobrenome,email,cep,rua,numero,complemento,bairro,cidade,estado,dataCriacao";
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${usuarios.exportacao.intervalo-limpeza:500}")
+    private int intervaloLimpeza;
+
+    /**
+     * Exporta todos os usuários no formato informado
+     * 
+     * @param formato formato de saída (NDJSON ou CSV)
+     * @param saida stream de destino; não é fechado por este método
+     * @return quantidade de usuários exportados
+     */
+    public long exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        log.info("Iniciando exportação de usuários em {}", formato);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+        LinhaExportacao linha = formato == FormatoExportacao.CSV
+                ? new LinhaCsv(writer)
+                : new LinhaNdjson(writer, objectMapper);
+        long[] total = {0};
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        try {
+            particoes.emCada(particao -> transacao.executeWithoutResult(status -> {
+                try (Stream<Usuario> usuarios = usuarioRepository.streamAllByOrderByIdAsc()) {
+                    Iterator<Usuario> iterator = usuarios.iterator();
+                    while (iterator.hasNext()) {
+                        linha.escrever(UsuarioResponseDTO.fromEntity(iterator.next()));
+                        total[0]++;
+
+                        // Evita que o contexto de persistência acumule todas as entidades lidas
+                        if (total[0] % intervaloLimpeza == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        linha.finalizar();
+
+        writer.flush();
+        log.info("Exportação concluída. Total de usuários: {}", total[0]);
+        return total[0];
+    }
+
+    /**
+     * Escritor de uma linha de exportação
+     */
+    private interface LinhaExportacao {
+
+        void escrever(UsuarioResponseDTO usuario) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    /**
+     * Um objeto JSON por linha, serializado direto no writer sem String intermediária
+     */
+    private static class LinhaNdjson implements LinhaExportacao {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        LinhaNdjson(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // O separador entre objetos é a quebra de linha escrita em escrever()
+            this.generator.setRootValueSeparator(null);
+            this.objectWriter = objectMapper.writerFor(UsuarioResponseDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void escrever(UsuarioResponseDTO usuario) throws IOException {
+            objectWriter.writeValue(generator, usuario);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV com cabeçalho, seguindo a RFC 4180 para campos com vírgula, aspas ou quebra de linha
+     */
+    private static class LinhaCsv implements LinhaExportacao {
+
+        private final Writer writer;
+
+        LinhaCsv(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        @Override
+        public void escrever(UsuarioResponseDTO usuario) throws IOException {
+            writer.write(String.valueOf(usuario.getId()));
+            campo(usuario.getNome());
+            campo(usuario.getSobrenome());
+            campo(usuario.getEmail());
+            campo(usuario.getCep());
+            campo(usuario.getRua());
+            campo(usuario.getNumero());
+            campo(usuario.getComplemento());
+            campo(usuario.getBairro());
+            campo(usuario.getCidade());
+            campo(usuario.getEstado());
+            campo(usuario.getDataCriacao() == null ? null : usuario.getDataCriacao().toString());
+            writer.write('\n');
+        }
+
+        @Override
+        public void finalizar() {
+        }
+
+        private void campo(String valor) throws IOException {
+            writer.write(',');
+            if (valor == null) {
+                return;
+            }
+            boolean precisaAspas = false;
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    precisaAspas = true;
+                    break;
+                }
+            }
+            if (!precisaAspas) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.cadastro.service;
+
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.FiltroEmailsCadastrados;
+import com.cadastro.cache.UsuarioCache;
+import com.cadastro.cache.VersaoColecaoUsuarios;
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.ItemResultadoLoteDTO;
+import com.cadastro.dto.ResultadoLoteDTO;
+import com.cadastro.dto.StatusItemLote;
+import com.cadastro.dto.ValidadorCadastroUsuario;
+import com.cadastro.entity.Usuario;
+import com.cadastro.estatisticas.EstatisticasUsuarios;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço de cadastro de usuários em lote
+ * 
+ * Lê a entrada (array JSON ou NDJSON) em streaming e processa os usuários em blocos.
+ * A validação e o hash das senhas (no executor dedicado) acontecem bloco a bloco, antes de
+ * acessar o banco e sem conexão do pool presa. A cada usuarios.lote.intervalo-commit blocos
+ * preparados, uma transação (uma por partição, com o particionamento) faz uma única consulta
+ * de emails duplicados e envia os INSERTs em lotes JDBC; ela só dura essa gravação.
+ */
+@Service
+@Slf4j
+public class UsuarioLoteService {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private FiltroEmailsCadastrados filtroEmailsCadastrados;
+
+    @Autowired
+    private IndiceBuscaUsuarios indiceBusca;
+
+    @Autowired
+    private VersaoColecaoUsuarios versaoColecao;
+
+    @Autowired
+    private EstatisticasUsuarios estatisticasUsuarios;
+
+    @Autowired
+    private CepService cepService;
+
+    @Autowired
+    private HashSenhaService hashSenhaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ValidadorCadastroUsuario validadorCadastro;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${usuarios.lote.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    /**
+     * Blocos gravados por transação
+     */
+    @Value("${usuarios.lote.intervalo-commit:1}")
+    private int intervaloCommit;
+
+    /**
+     * Cadastra os usuários lidos da entrada
+     * 
+     * Os blocos já confirmados permanecem gravados caso a leitura falhe no meio da entrada.
+     * 
+     * @param entrada array JSON ou sequência NDJSON de CadastroUsuarioDTO
+     * @return totais e resultado de cada item
+     * @throws IOException se a entrada não puder ser lida ou não for JSON válido
+     */
+    public ResultadoLoteDTO cadastrarLote(InputStream entrada) throws IOException {
+        log.info("Iniciando cadastro em lote (bloco {}, {} bloco(s) por transação)", tamanhoBloco, intervaloCommit);
+
+        List<ItemResultadoLoteDTO> resultados = new ArrayList<>();
+        List<CadastroUsuarioDTO> bloco = new ArrayList<>(tamanhoBloco);
+        Pendentes pendentes = new Pendentes(0);
+
+        try (MappingIterator<CadastroUsuarioDTO> itens =
+                     objectMapper.readerFor(CadastroUsuarioDTO.class).readValues(entrada)) {
+            while (itens.hasNextValue()) {
+                bloco.add(itens.nextValue());
+                if (bloco.size() == tamanhoBloco) {
+                    pendentes.preparar(bloco);
+                    bloco.clear();
+                    if (pendentes.blocos >= intervaloCommit) {
+                        gravar(pendentes, resultados);
+                        pendentes = new Pendentes(pendentes.proximoIndice());
+                    }
+                }
+            }
+            if (!bloco.isEmpty()) {
+                pendentes.preparar(bloco);
+            }
+            if (pendentes.blocos > 0) {
+                gravar(pendentes, resultados);
+            }
+        }
+
+        ResultadoLoteDTO resultado = ResultadoLoteDTO.builder()
+                .criados(contar(resultados, StatusItemLote.CRIADO))
+                .duplicados(contar(resultados, StatusItemLote.DUPLICADO))
+                .invalidos(contar(resultados, StatusItemLote.ERRO_VALIDACAO))
+                .itens(resultados)
+                .build();
+        log.info("Cadastro em lote concluído. Criados: {}, duplicados: {}, inválidos: {}",
+                resultado.getCriados(), resultado.getDuplicados(), resultado.getInvalidos());
+        return resultado;
+    }
+
+    /**
+     * Valida os itens do bloco e marca os emails repetidos no bloco ou nos blocos anteriores da transação
+     * 
+     * @param emails emails aceitos até aqui na transação; recebe os do bloco
+     * @return resultado dos itens recusados; posições nulas são os candidatos a cadastro
+     */
+    private ItemResultadoLoteDTO[] validarBloco(List<CadastroUsuarioDTO> bloco, long indiceInicial, Set<String> emails) {
+        ItemResultadoLoteDTO[] itens = new ItemResultadoLoteDTO[bloco.size()];
+
+        for (int i = 0; i < bloco.size(); i++) {
+            CadastroUsuarioDTO dto = bloco.get(i);
+            Map<String, String> erros = validadorCadastro.validar(dto);
+            erros.keySet().forEach(campo -> meterRegistry
+                    .counter("usuarios.validacao.erros", "origem", "lote", "campo", campo).increment());
+            if (erros.isEmpty()) {
+                cepService.verificarEndereco(dto.getCep(), dto.getCidade(), dto.getEstado())
+                        .ifPresent(erro -> erros.put("cep", erro));
+            }
+            if (!erros.isEmpty()) {
+                itens[i] = item(indiceInicial + i, dto, StatusItemLote.ERRO_VALIDACAO, null, erros);
+            } else if (!emails.add(Usuario.normalizarEmail(dto.getEmail()))) {
+                // Email repetido dentro do próprio lote
+                itens[i] = item(indiceInicial + i, dto, StatusItemLote.DUPLICADO, null, null);
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * Gera no executor de hash as senhas dos candidatos a cadastro do bloco
+     */
+    private String[] gerarHashes(List<CadastroUsuarioDTO> bloco, ItemResultadoLoteDTO[] itens) {
+        List<String> senhas = new ArrayList<>(bloco.size());
+        for (int i = 0; i < bloco.size(); i++) {
+            if (itens[i] == null) {
+                senhas.add(bloco.get(i).getSenha());
+            }
+        }
+        List<String> gerados = hashSenhaService.gerarHashes(senhas);
+        String[] hashes = new String[bloco.size()];
+        int proximo = 0;
+        for (int i = 0; i < bloco.size(); i++) {
+            if (itens[i] == null) {
+                hashes[i] = gerados.get(proximo++);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Grava os candidatos dos blocos preparados, em uma transação curta por partição
+     */
+    private void gravar(Pendentes pendentes, List<ItemResultadoLoteDTO> resultados) {
+        List<CadastroUsuarioDTO> bloco = pendentes.dtos;
+        ItemResultadoLoteDTO[] itens = pendentes.itens.toArray(new ItemResultadoLoteDTO[0]);
+        String[] hashes = pendentes.hashes.toArray(new String[0]);
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        particoes.agrupar(candidatos(itens), i -> particoes.particaoDoEmail(bloco.get(i).getEmail()))
+                .forEach((particao, posicoes) -> particoes.naParticao(particao,
+                        () -> gravarParticao(transacao, bloco, pendentes.indiceInicial, itens, hashes, posicoes)));
+        resultados.addAll(Arrays.asList(itens));
+    }
+
+    /**
+     * Grava os candidatos de uma partição, tratando emails cadastrados por outra requisição
+     * entre a consulta de duplicados e o INSERT
+     * 
+     * A violação do email único desfaz a transação; a gravação é repetida em uma nova, que
+     * consulta os emails de novo. Se a disputa se repetir (ex: email gravado por outra
+     * instância, ainda fora do filtro de emails), os candidatos são gravados um a um e os
+     * que perderem ficam como DUPLICADO.
+     */
+    private void gravarParticao(TransactionTemplate transacao, List<CadastroUsuarioDTO> bloco, long indiceInicial,
+                                ItemResultadoLoteDTO[] itens, String[] hashes, List<Integer> posicoes) {
+        for (int tentativa = 1; tentativa <= 2; tentativa++) {
+            try {
+                transacao.executeWithoutResult(status -> gravarCandidatos(bloco, indiceInicial, itens, hashes, posicoes));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!UsuarioService.violouEmailUnico(e)) {
+                    throw e;
+                }
+                log.debug("Email do lote cadastrado durante a gravação (tentativa {}); gravando de novo", tentativa);
+                posicoes.forEach(i -> itens[i] = null);
+            }
+        }
+        for (int i : posicoes) {
+            try {
+                transacao.executeWithoutResult(status -> gravarCandidatos(bloco, indiceInicial, itens, hashes, List.of(i)));
+            } catch (DataIntegrityViolationException e) {
+                if (!UsuarioService.violouEmailUnico(e)) {
+                    throw e;
+                }
+                itens[i] = item(indiceInicial + i, bloco.get(i), StatusItemLote.DUPLICADO, null, null);
+            }
+        }
+    }
+
+    /**
+     * Posições do bloco ainda sem resultado, candidatas a cadastro
+     */
+    private static List<Integer> candidatos(ItemResultadoLoteDTO[] itens) {
+        List<Integer> validos = new ArrayList<>(itens.length);
+        for (int i = 0; i < itens.length; i++) {
+            if (itens[i] == null) {
+                validos.add(i);
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Verifica duplicidade no banco e insere os candidatos informados dentro da transação corrente
+     */
+    private void gravarCandidatos(List<CadastroUsuarioDTO> bloco, long indiceInicial, ItemResultadoLoteDTO[] itens,
+                                  String[] hashes, List<Integer> validos) {
+        Set<String> emailsValidos = new HashSet<>();
+        for (int i : validos) {
+            emailsValidos.add(Usuario.normalizarEmail(bloco.get(i).getEmail()));
+        }
+
+        // Só os possíveis positivos do filtro de emails precisam ser consultados no banco
+        Set<String> aConsultar = new HashSet<>();
+        for (String email : emailsValidos) {
+            if (filtroEmailsCadastrados.podeExistir(email)) {
+                aConsultar.add(email);
+            }
+        }
+        Set<String> existentes = aConsultar.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(usuarioRepository.findEmailsExistentes(aConsultar));
+        for (int i = existentes.size(); i < aConsultar.size(); i++) {
+            filtroEmailsCadastrados.registrarFalsoPositivo();
+        }
+
+        List<Usuario> novos = new ArrayList<>(validos.size());
+        List<Integer> posicoesNovos = new ArrayList<>(validos.size());
+        for (int i : validos) {
+            CadastroUsuarioDTO dto = bloco.get(i);
+            if (existentes.contains(Usuario.normalizarEmail(dto.getEmail()))) {
+                itens[i] = item(indiceInicial + i, dto, StatusItemLote.DUPLICADO, null, null);
+            } else {
+                novos.add(dto.toEntity(hashes[i]));
+                posicoesNovos.add(i);
+            }
+        }
+
+        // O Hibernate agrupa os INSERTs em lotes JDBC (hibernate.jdbc.batch_size) no flush;
+        // o flush pelo repositório traduz a violação do email único em DataIntegrityViolationException
+        usuarioRepository.saveAll(novos);
+        usuarioRepository.flush();
+        entityManager.clear();
+
+        if (!novos.isEmpty()) {
+            versaoColecao.alterarAposCommit();
+        }
+        for (int n = 0; n < novos.size(); n++) {
+            int i = posicoesNovos.get(n);
+            Usuario novo = novos.get(n);
+            filtroEmailsCadastrados.registrar(novo.getEmail());
+            usuarioCache.invalidarAposCommit(novo.getId(), novo.getEmail());
+            indiceBusca.adicionarAposCommit(novo.getId(), novo.getNome(), novo.getSobrenome(),
+                    novo.getEmail(), novo.getCidade());
+            estatisticasUsuarios.registrarAposCommit(novo);
+            itens[i] = item(indiceInicial + i, bloco.get(i), StatusItemLote.CRIADO, novo.getId(), null);
+        }
+    }
+
+    /**
+     * Blocos validados e com os hashes gerados, à espera da transação que os grava
+     */
+    private class Pendentes {
+
+        private final long indiceInicial;
+        private final List<CadastroUsuarioDTO> dtos = new ArrayList<>();
+        private final List<ItemResultadoLoteDTO> itens = new ArrayList<>();
+        private final List<String> hashes = new ArrayList<>();
+        private final Set<String> emails = new HashSet<>();
+        private int blocos;
+
+        Pendentes(long indiceInicial) {
+            this.indiceInicial = indiceInicial;
+        }
+
+        /**
+         * Valida o bloco e gera os hashes das senhas, fora de transação
+         */
+        void preparar(List<CadastroUsuarioDTO> bloco) {
+            ItemResultadoLoteDTO[] itensBloco = validarBloco(bloco, proximoIndice(), emails);
+            dtos.addAll(bloco);
+            itens.addAll(Arrays.asList(itensBloco));
+            hashes.addAll(Arrays.asList(gerarHashes(bloco, itensBloco)));
+            blocos++;
+        }
+
+        long proximoIndice() {
+            return indiceInicial + dtos.size();
+        }
+    }
+
+    private static ItemResultadoLoteDTO item(long indice, CadastroUsuarioDTO dto, StatusItemLote status,
+                                             Long id, Map<String, String> erros) {
+        return ItemResultadoLoteDTO.builder()
+                .indice(indice)
+                .email(dto.getEmail())
+                .status(status)
+                .id(id)
+                .erros(erros)
+                .build();
+    }
+
+    private static long contar(List<ItemResultadoLoteDTO> resultados, StatusItemLote status) {
+        return resultados.stream().filter(item -> item.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,170 @@
+package com.cadastro.service;
+
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.UsuarioCache;
+import com.cadastro.cache.VersaoColecaoUsuarios;
+import com.cadastro.dto.ResultadoRemocaoDTO;
+import com.cadastro.entity.Usuario;
+import com.cadastro.estatisticas.EstatisticasUsuarios;
+import com.cadastro.particao.ParticoesUsuarios;
+import com.cadastro.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Serviço de deleção de usuários
+ * 
+ * Cada bloco de IDs (ou de usuários anteriores a uma data) é lido com trava de escrita e
+ * removido por um único delete em massa, na mesma transação; as linhas lidas dizem quais
+ * usuários existiam. Com elas, o cache, o índice de busca, as estatísticas e a versão da
+ * coleção são atualizados após o commit. Cada bloco é confirmado na sua
+ * própria transação, dentro da partição dos seus usuários, para não manter uma transação
+ * aberta durante uma deleção grande.
+ * 
+ * O filtro de emails cadastrados não remove emails: os emails deletados passam a contar
+ * como falsos positivos até a próxima reconstrução do filtro.
+ */
+@Service
+@Slf4j
+public class UsuarioRemocaoService {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private IndiceBuscaUsuarios indiceBusca;
+
+    @Autowired
+    private VersaoColecaoUsuarios versaoColecao;
+
+    @Autowired
+    private EstatisticasUsuarios estatisticasUsuarios;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${usuarios.remocao.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Value("${usuarios.remocao.maximo-ids:10000}")
+    private int maximoIds;
+
+    /**
+     * Deleta um usuário
+     * 
+     * @param id ID do usuário
+     * @return true se o usuário existia
+     */
+    public boolean deletar(Long id) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        return particoes.naParticao(particoes.particaoDoId(id), () -> transacao.execute(
+                status -> remover(usuarioRepository.travarParaRemocao(List.of(id))) > 0));
+    }
+
+    /**
+     * Deleta os usuários com os IDs informados, em blocos de usuarios.remocao.tamanho-bloco
+     * 
+     * @param ids IDs dos usuários; repetidos contam uma vez
+     * @return IDs solicitados, removidos e não encontrados
+     * @throws IllegalArgumentException se a lista estiver vazia ou passar de usuarios.remocao.maximo-ids
+     */
+    public ResultadoRemocaoDTO deletarPorIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID");
+        }
+        LinkedHashSet<Long> distintos = new LinkedHashSet<>(ids);
+        distintos.remove(null);
+        if (distintos.size() > maximoIds) {
+            throw new IllegalArgumentException("No máximo " + maximoIds + " IDs por requisição");
+        }
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        long[] removidos = {0};
+        particoes.agrupar(distintos, particoes::particaoDoId).forEach((particao, grupo) -> {
+            for (int i = 0; i < grupo.size(); i += tamanhoBloco) {
+                List<Long> bloco = grupo.subList(i, Math.min(i + tamanhoBloco, grupo.size()));
+                removidos[0] += particoes.naParticao(particao, () -> transacao.execute(
+                        status -> remover(usuarioRepository.travarParaRemocao(bloco))));
+            }
+        });
+
+        log.info("Deleção em lote: {} IDs, {} usuários removidos", distintos.size(), removidos[0]);
+        return ResultadoRemocaoDTO.builder()
+                .solicitados(distintos.size())
+                .removidos(removidos[0])
+                .naoEncontrados(distintos.size() - removidos[0])
+                .build();
+    }
+
+    /**
+     * Deleta os usuários cadastrados antes da data informada, em blocos, partição por partição
+     * 
+     * @param antes data de criação limite (exclusiva)
+     * @return usuários removidos
+     */
+    public ResultadoRemocaoDTO deletarCriadosAntesDe(LocalDateTime antes) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        long[] removidos = {0};
+        particoes.emCada(particao -> {
+            int bloco;
+            do {
+                bloco = transacao.execute(status -> remover(
+                        usuarioRepository.travarCriadosAntesDe(antes, PageRequest.ofSize(tamanhoBloco))));
+                removidos[0] += bloco;
+            } while (bloco == tamanhoBloco);
+        });
+
+        log.info("Deleção em lote: {} usuários cadastrados antes de {} removidos", removidos[0], antes);
+        return ResultadoRemocaoDTO.builder().removidos(removidos[0]).build();
+    }
+
+    /**
+     * Remove as linhas travadas e agenda, para depois do commit, a atualização de cache,
+     * índice, estatísticas e versão da coleção
+     * 
+     * @param linhas linhas travadas para remoção (id, email, cidade, estado, dataCriacao)
+     * @return quantidade de usuários removidos
+     */
+    private int remover(List<Object[]> linhas) {
+        if (linhas.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            ids.add(((Number) linha[0]).longValue());
+        }
+        usuarioRepository.deletarPorIds(ids);
+
+        for (Object[] linha : linhas) {
+            Usuario usuario = Usuario.builder()
+                    .id(((Number) linha[0]).longValue())
+                    .email((String) linha[1])
+                    .cidade((String) linha[2])
+                    .estado((String) linha[3])
+                    .dataCriacao((LocalDateTime) linha[4])
+                    .build();
+            usuarioCache.invalidarAposCommit(usuario.getId(), usuario.getEmail());
+            indiceBusca.removerAposCommit(usuario.getId());
+            estatisticasUsuarios.removerAposCommit(usuario);
+        }
+        versaoColecao.alterarAposCommit();
+        return linhas.size();
+    }
+}
@@ -1,15 +1,41 @@
 package com.cadastro.service;
 
+import com.cadastro.busca.IndiceBusca;
+import com.cadastro.busca.IndiceBuscaUsuarios;
+import com.cadastro.cache.FiltroEmailsCadastrados;
+import com.cadastro.cache.UsuarioCache;
+import com.cadastro.cache.VersaoColecaoUsuarios;
 import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.CursorPaginacao;
+import com.cadastro.dto.EstatisticasUsuariosDTO;
+import com.cadastro.dto.PaginaUsuariosDTO;
+import com.cadastro.dto.ResultadoBuscaDTO;
 import com.cadastro.dto.UsuarioResponseDTO;
 import com.cadastro.entity.Usuario;
+import com.cadastro.estatisticas.EstatisticasUsuarios;
+import com.cadastro.exception.EmailJaCadastradoException;
+import com.cadastro.exception.ServicoSaturadoException;
+import com.cadastro.log.MascaraDados;
+import com.cadastro.particao.ParticoesUsuarios;
 import com.cadastro.repository.UsuarioRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +45,12 @@ import java.util.stream.Collectors;
  * - Validação de dados
  * - Persistência de usuários
  * - Consultas de usuários
+ * 
+ * As consultas não abrem transação no serviço (SUPPORTS): um acerto no cache não ocupa
+ * conexão, e cada ida ao banco usa a transação somente leitura do repositório.
+ * 
+ * Cada acesso ao banco roda na partição do usuário (pelo email ou pelo ID); a listagem e a
+ * busca consultam as partições em paralelo e juntam os resultados (ParticoesUsuarios).
  */
 @Service
 @Slf4j
@@ -28,40 +60,97 @@ public class UsuarioService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioCache usuarioCache;
+
+    @Autowired
+    private FiltroEmailsCadastrados filtroEmailsCadastrados;
+
+    @Autowired
+    private IndiceBuscaUsuarios indiceBusca;
+
+    @Autowired
+    private VersaoColecaoUsuarios versaoColecao;
+
+    @Autowired
+    private EstatisticasUsuarios estatisticasUsuarios;
+
+    @Autowired
+    private CepService cepService;
+
+    @Autowired
+    private HashSenhaService hashSenhaService;
+
+    @Autowired
+    private CadastroAgrupadoService cadastroAgrupado;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private UsuarioRemocaoService usuarioRemocaoService;
+
+    @Value("${usuarios.paginacao.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${usuarios.paginacao.tamanho-maximo:100}")
+    private int tamanhoPaginaMaximo;
+
     /**
      * Cadastra um novo usuário
      * 
+     * A duplicidade de email é detectada pela constraint unique do email normalizado,
+     * sem consulta prévia: uma única ida ao banco e sem corrida entre verificação e inserção.
+     * 
+     * Roda fora de transação: o hash da senha é calculado antes, no executor dedicado,
+     * sem manter uma conexão do pool presa; o INSERT usa a transação do repositório, ou a
+     * do próximo lote do CadastroAgrupadoService quando o commit em grupo está habilitado.
+     * 
      * @param cadastroDTO dados do usuário a cadastrar
      * @return dados do usuário cadastrado
-     * @throws IllegalArgumentException se o email já existe
+     * @throws EmailJaCadastradoException se o email já existe
+     * @throws IllegalArgumentException se a cidade/estado não conferirem com o CEP (verificação opcional)
+     * @throws ServicoSaturadoException se o executor de hash de senhas (ou a fila do commit em grupo) estiver saturado
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UsuarioResponseDTO cadastrarUsuario(CadastroUsuarioDTO cadastroDTO) {
-        log.info("Iniciando cadastro de novo usuário: {}", cadastroDTO.getEmail());
+        log.debug("Iniciando cadastro de novo usuário: {}", MascaraDados.email(cadastroDTO.getEmail()));
 
-        // Validar se email já existe
-        if (usuarioRepository.existsByEmail(cadastroDTO.getEmail())) {
-            log.warn("Tentativa de cadastro com email duplicado: {}", cadastroDTO.getEmail());
-            throw new IllegalArgumentException("Email já cadastrado no sistema");
+        cepService.verificarEndereco(cadastroDTO.getCep(), cadastroDTO.getCidade(), cadastroDTO.getEstado())
+                .ifPresent(erro -> {
+                    throw new IllegalArgumentException(erro);
+                });
+
+        // Criar nova entidade Usuario com o hash da senha
+        Usuario usuario = cadastroDTO.toEntity(hashSenhaService.gerarHash(cadastroDTO.getSenha()));
+
+        if (cadastroAgrupado.isHabilitado()) {
+            // Gravado junto com outros cadastros, em um único commit
+            return cadastroAgrupado.cadastrar(usuario);
         }
 
-        // Criar nova entidade Usuario
-        Usuario usuario = Usuario.builder()
-                .nome(cadastroDTO.getNome())
-                .sobrenome(cadastroDTO.getSobrenome())
-                .email(cadastroDTO.getEmail())
-                .senha(cadastroDTO.getSenha()) // Em produção, seria necessário fazer hash da senha
-                .cep(cadastroDTO.getCep())
-                .rua(cadastroDTO.getRua())
-                .numero(cadastroDTO.getNumero())
-                .complemento(cadastroDTO.getComplemento())
-                .bairro(cadastroDTO.getBairro())
-                .cidade(cadastroDTO.getCidade())
-                .estado(cadastroDTO.getEstado())
-                .build();
+        // Salvar no banco de dados; o flush força o INSERT aqui para traduzir a violação
+        Usuario usuarioSalvo;
+        try {
+            usuarioSalvo = particoes.naParticao(particoes.particaoDoEmail(usuario.getEmail()),
+                    () -> usuarioRepository.saveAndFlush(usuario));
+        } catch (DataIntegrityViolationException e) {
+            if (violouEmailUnico(e)) {
+                log.debug("Tentativa de cadastro com email duplicado: {}", MascaraDados.email(cadastroDTO.getEmail()));
+                throw new EmailJaCadastradoException();
+            }
+            throw e;
+        }
+        log.debug("Usuário cadastrado com sucesso. ID: {}", usuarioSalvo.getId());
 
-        // Salvar no banco de dados
-        Usuario usuarioSalvo = usuarioRepository.save(usuario);
-        log.info("Usuário cadastrado com sucesso. ID: {}, Email: {}", usuarioSalvo.getId(), usuarioSalvo.getEmail());
+        filtroEmailsCadastrados.registrar(usuarioSalvo.getEmail());
+
+        // Descarta entradas negativas que possam existir para o novo ID/email
+        usuarioCache.invalidarAposCommit(usuarioSalvo.getId(), usuarioSalvo.getEmail());
+        versaoColecao.alterarAposCommit();
+        indiceBusca.adicionarAposCommit(usuarioSalvo.getId(), usuarioSalvo.getNome(), usuarioSalvo.getSobrenome(),
+                usuarioSalvo.getEmail(), usuarioSalvo.getCidade());
+        estatisticasUsuarios.registrarAposCommit(usuarioSalvo);
 
         return UsuarioResponseDTO.fromEntity(usuarioSalvo);
     }
@@ -73,16 +162,16 @@ public class UsuarioService {
      * @return dados do usuário
      * @throws IllegalArgumentException se o usuário não for encontrado
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UsuarioResponseDTO buscarUsuarioPorId(Long id) {
-        log.info("Buscando usuário com ID: {}", id);
+        log.debug("Buscando usuário com ID: {}", id);
 
-        Usuario usuario = usuarioRepository.findById(id)
+        return usuarioCache.buscarPorId(id, chave -> particoes.naParticao(particoes.particaoDoId(chave),
+                        () -> usuarioRepository.findDtoById(chave)))
                 .orElseThrow(() -> {
-                    log.warn("Usuário não encontrado. ID: {}", id);
+                    log.debug("Usuário não encontrado. ID: {}", id);
                     return new IllegalArgumentException("Usuário não encontrado");
                 });
-
-        return UsuarioResponseDTO.fromEntity(usuario);
     }
 
     /**
@@ -92,58 +181,194 @@ public class UsuarioService {
      * @return dados do usuário
      * @throws IllegalArgumentException se o usuário não for encontrado
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UsuarioResponseDTO buscarUsuarioPorEmail(String email) {
-        log.info("Buscando usuário com email: {}", email);
+        log.debug("Buscando usuário com email: {}", MascaraDados.email(email));
 
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        return usuarioCache.buscarPorEmail(email, chave -> particoes.naParticao(particoes.particaoDoEmail(chave),
+                        () -> usuarioRepository.findDtoByEmailNormalizado(chave)))
                 .orElseThrow(() -> {
-                    log.warn("Usuário não encontrado. Email: {}", email);
+                    log.debug("Usuário não encontrado. Email: {}", MascaraDados.email(email));
                     return new IllegalArgumentException("Usuário não encontrado");
                 });
+    }
 
-        return UsuarioResponseDTO.fromEntity(usuario);
+    /**
+     * Lista os usuários em páginas, usando paginação por chave (keyset) sobre o ID
+     * 
+     * @param cursor cursor opaco da página anterior (nulo para a primeira página)
+     * @param limite tamanho da página (nulo usa o padrão; limitado ao máximo configurado)
+     * @param cidade filtro opcional por cidade
+     * @param estado filtro opcional por estado
+     * @return página de usuários com o cursor da próxima página
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PaginaUsuariosDTO listarUsuarios(String cursor, Integer limite, String cidade, String estado) {
+        long aposId = CursorPaginacao.decodificar(cursor);
+        int tamanho = limite == null ? tamanhoPaginaPadrao : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        tamanho = Math.min(tamanho, tamanhoPaginaMaximo);
+        log.debug("Listando usuários após ID {} (limite {}, cidade {}, estado {})", aposId, tamanho, cidade, estado);
+
+        // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT.
+        // Particionado: a mesma página em cada partição; as primeiras em ordem de ID formam a resposta.
+        Pageable pagina = PageRequest.of(0, tamanho + 1);
+        List<List<UsuarioResponseDTO>> paginas = particoes.emTodas(p -> {
+            if (temValor(cidade) && temValor(estado)) {
+                return usuarioRepository.findDtosPorCidadeEstadoAposId(cidade, estado, aposId, pagina);
+            } else if (temValor(cidade)) {
+                return usuarioRepository.findDtosPorCidadeAposId(cidade, aposId, pagina);
+            } else if (temValor(estado)) {
+                return usuarioRepository.findDtosPorEstadoAposId(estado, aposId, pagina);
+            }
+            return usuarioRepository.findDtosAposId(aposId, pagina);
+        });
+        List<UsuarioResponseDTO> usuarios = paginas.size() == 1 ? paginas.get(0) : intercalar(paginas, tamanho + 1);
+
+        boolean temProxima = usuarios.size() > tamanho;
+        List<UsuarioResponseDTO> conteudo = temProxima ? usuarios.subList(0, tamanho) : usuarios;
+        String proximoCursor = temProxima
+                ? CursorPaginacao.codificar(conteudo.get(conteudo.size() - 1).getId())
+                : null;
+
+        return PaginaUsuariosDTO.builder()
+                .usuarios(conteudo)
+                .quantidade(conteudo.size())
+                .proximoCursor(proximoCursor)
+                .build();
     }
 
     /**
-     * Lista todos os usuários cadastrados
+     * Busca usuários por nome, sobrenome, email e cidade no índice em memória
      * 
-     * @return lista de usuários
+     * Os termos são comparados por prefixo, sem diferenciar acentos e maiúsculas; todos
+     * precisam ser atendidos. Só a página pedida é lida do banco, com uma única consulta.
+     * 
+     * @param consulta termos da busca
+     * @param pagina número da página, a partir de zero
+     * @param limite tamanho da página (nulo usa o padrão; limitado ao máximo configurado)
+     * @return página de usuários em ordem de relevância
+     * @throws IllegalArgumentException se a consulta, a página ou o limite forem inválidos
+     * @throws IllegalStateException se o índice de busca não estiver disponível
      */
-    public List<UsuarioResponseDTO> listarTodosUsuarios() {
-        log.info("Listando todos os usuários");
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResultadoBuscaDTO buscarUsuarios(String consulta, int pagina, Integer limite) {
+        int tamanho = limite == null ? tamanhoPaginaPadrao : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        if (pagina < 0) {
+            throw new IllegalArgumentException("Página não pode ser negativa");
+        }
+        tamanho = Math.min(tamanho, tamanhoPaginaMaximo);
+        long inicio = (long) pagina * tamanho;
+        if (inicio > Integer.MAX_VALUE - tamanho) {
+            throw new IllegalArgumentException("Página fora do intervalo");
+        }
+
+        IndiceBusca.ResultadoBusca resultado = indiceBusca.buscar(consulta, (int) inicio, tamanho);
+        log.debug("Busca encontrou {} usuários (página {}, limite {})", resultado.getTotal(), pagina, tamanho);
+
+        List<UsuarioResponseDTO> usuarios = new ArrayList<>(resultado.getIds().size());
+        if (!resultado.getIds().isEmpty()) {
+            Map<Integer, List<Long>> idsPorParticao = particoes.agrupar(resultado.getIds(), particoes::particaoDoId);
+            Map<Long, UsuarioResponseDTO> porId = particoes.emTodas(p -> idsPorParticao.containsKey(p)
+                            ? usuarioRepository.findDtosByIds(idsPorParticao.get(p))
+                            : List.<UsuarioResponseDTO>of())
+                    .stream()
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toMap(UsuarioResponseDTO::getId, Function.identity()));
+            // Mantém a ordem de relevância; um usuário deletado após a busca fica de fora
+            for (Long id : resultado.getIds()) {
+                UsuarioResponseDTO usuario = porId.get(id);
+                if (usuario != null) {
+                    usuarios.add(usuario);
+                }
+            }
+        }
 
-        return usuarioRepository.findAll()
-                .stream()
-                .map(UsuarioResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return ResultadoBuscaDTO.builder()
+                .usuarios(usuarios)
+                .quantidade(usuarios.size())
+                .total(resultado.getTotal())
+                .aproximado(resultado.isAproximado())
+                .pagina(pagina)
+                .proximaPagina(inicio + tamanho < resultado.getTotal() ? pagina + 1 : null)
+                .build();
     }
 
     /**
-     * Retorna o total de usuários cadastrados
+     * Retorna o total de usuários cadastrados, a partir dos contadores em memória
      * 
      * @return total de usuários
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long contarUsuarios() {
-        long total = usuarioRepository.count();
-        log.info("Total de usuários cadastrados: {}", total);
+        long total = estatisticasUsuarios.total();
+        log.debug("Total de usuários cadastrados: {}", total);
         return total;
     }
 
+    /**
+     * Retorna o total e as distribuições por estado, cidade e dia de cadastro
+     * 
+     * Vem dos contadores em memória, sem consultar o banco.
+     * 
+     * @return estatísticas de usuários
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EstatisticasUsuariosDTO obterEstatisticas() {
+        return estatisticasUsuarios.obter();
+    }
+
     /**
      * Deleta um usuário
      * 
+     * Um único comando remove o usuário e informa se ele existia (UsuarioRemocaoService).
+     * 
      * @param id ID do usuário a deletar
      * @throws IllegalArgumentException se o usuário não for encontrado
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deletarUsuario(Long id) {
-        log.info("Deletando usuário com ID: {}", id);
+        log.debug("Deletando usuário com ID: {}", id);
 
-        if (!usuarioRepository.existsById(id)) {
-            log.warn("Usuário não encontrado para deleção. ID: {}", id);
+        if (!usuarioRemocaoService.deletar(id)) {
+            log.debug("Usuário não encontrado para deleção. ID: {}", id);
             throw new IllegalArgumentException("Usuário não encontrado");
         }
-
-        usuarioRepository.deleteById(id);
         log.info("Usuário deletado com sucesso. ID: {}", id);
     }
+
+    /**
+     * Verifica se a violação de integridade foi causada pela constraint unique do email
+     */
+    static boolean violouEmailUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            String nome = causa instanceof ConstraintViolationException
+                    ? ((ConstraintViolationException) causa).getConstraintName()
+                    : causa.getMessage();
+            if (nome != null && nome.toLowerCase(Locale.ROOT).contains(Usuario.CONSTRAINT_EMAIL_UNICO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Junta as páginas das partições (cada uma em ordem de ID) nos primeiros "limite" usuários em ordem de ID
+     */
+    static List<UsuarioResponseDTO> intercalar(List<List<UsuarioResponseDTO>> paginas, int limite) {
+        List<UsuarioResponseDTO> todos = new ArrayList<>();
+        paginas.forEach(todos::addAll);
+        todos.sort(Comparator.comparing(UsuarioResponseDTO::getId));
+        return todos.size() > limite ? todos.subList(0, limite) : todos;
+    }
+
+    private static boolean temValor(String valor) {
+        return valor != null && !valor.trim().isEmpty();
+    }
 }
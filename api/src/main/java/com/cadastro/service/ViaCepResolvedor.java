@@ -0,0 +1,76 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.EnderecoDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolvedor de CEP usando a API ViaCEP (https://viacep.com.br)
+ * 
+ * Registrado somente com usuarios.cep.remoto.habilitado=true; por padrão a
+ * aplicação funciona apenas com a base local, sem acesso à rede.
+ */
+@Component
+@ConditionalOnProperty(name = "usuarios.cep.remoto.habilitado", havingValue = "true")
+public class ViaCepResolvedor implements ResolvedorCepRemoto {
+
+    private final HttpClient http;
+    private final String url;
+    private final Duration timeout;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public ViaCepResolvedor(@Value("${usuarios.cep.remoto.url:https://viacep.com.br/ws}") String url,
+                            @Value("${usuarios.cep.remoto.timeout:2s}") Duration timeout) {
+        this.url = url;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public Optional<EnderecoDTO> resolver(int cep) {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url + "/" + String.format("%08d", cep) + "/json/"))
+                .timeout(timeout)
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() == 400) {
+                return Optional.empty();
+            }
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("ViaCEP respondeu com status " + resposta.statusCode());
+            }
+            JsonNode corpo = objectMapper.readTree(resposta.body());
+            if (corpo.path("erro").asBoolean(false) || "true".equals(corpo.path("erro").asText())) {
+                return Optional.empty();
+            }
+            return Optional.of(EnderecoDTO.builder()
+                    .cep(BaseCepLocal.formatar(cep))
+                    .rua(corpo.path("logradouro").asText(""))
+                    .bairro(corpo.path("bairro").asText(""))
+                    .cidade(corpo.path("localidade").asText(""))
+                    .estado(corpo.path("uf").asText(""))
+                    .origem("remoto")
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao consultar o ViaCEP", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta ao ViaCEP interrompida", e);
+        }
+    }
+}
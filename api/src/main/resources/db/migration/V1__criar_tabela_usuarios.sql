@@ -0,0 +1,34 @@
+-- Schema inicial da tabela de usuários (perfil prod; validado pelo Hibernate com ddl-auto=validate)
+
+-- Sequence com incremento 50: o otimizador pooled do Hibernate reserva 50 IDs por ida ao banco
+create sequence usuarios_seq start with 1 increment by 50;
+
+create table usuarios (
+    id bigint not null,
+    nome varchar(255) not null,
+    sobrenome varchar(255) not null,
+    email varchar(255) not null,
+    email_normalizado varchar(255) not null,
+    senha varchar(255) not null,
+    cep varchar(255) not null,
+    rua varchar(255) not null,
+    numero varchar(255) not null,
+    complemento varchar(255),
+    bairro varchar(255) not null,
+    cidade varchar(255) not null,
+    estado varchar(255) not null,
+    data_criacao timestamp not null,
+    constraint pk_usuarios primary key (id)
+);
+
+-- Unicidade e busca por email (GET /usuarios/email/{email} consulta o email normalizado)
+alter table usuarios add constraint uk_usuarios_email_normalizado unique (email_normalizado);
+
+-- Listagem paginada por cursor com filtros de cidade e/ou estado
+create index idx_usuarios_cidade_id on usuarios (cidade, id);
+create index idx_usuarios_estado_id on usuarios (estado, id);
+create index idx_usuarios_estado_cidade_id on usuarios (estado, cidade, id);
+
+-- Consultas por CEP e por data de cadastro
+create index idx_usuarios_cep on usuarios (cep);
+create index idx_usuarios_data_criacao on usuarios (data_criacao);
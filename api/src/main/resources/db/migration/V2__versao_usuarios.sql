@@ -0,0 +1,2 @@
+-- Versão de cada usuário (@Version): lock otimista nas atualizações e ETag das consultas
+alter table usuarios add column versao bigint default 0 not null;
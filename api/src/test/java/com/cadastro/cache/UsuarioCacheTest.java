@@ -0,0 +1,71 @@
+package com.cadastro.cache;
+
+import com.cadastro.dto.UsuarioResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioCacheTest {
+
+    private final UsuarioCache cache = new UsuarioCache(true, 100, Duration.ofMinutes(10), Duration.ofSeconds(30),
+            new SimpleMeterRegistry());
+
+    @Test
+    void buscaPorIdNaoPreencheOEmail() {
+        UsuarioResponseDTO usuario = usuario(1L, "Ana@Example.com");
+        AtomicInteger cargasEmail = new AtomicInteger();
+
+        cache.buscarPorId(1L, id -> Optional.of(usuario));
+        cache.buscarPorEmail("ana@example.com", email -> {
+            cargasEmail.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(cargasEmail).hasValue(1);
+    }
+
+    @Test
+    void invalidacaoDuranteOCarregamentoDescartaOResultado() throws Exception {
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread leitura = new Thread(() -> cache.buscarPorId(1L, id -> {
+            carregando.countDown();
+            aguardar(liberar);
+            return Optional.of(usuario(1L, "ana@example.com"));
+        }));
+        leitura.start();
+        carregando.await();
+
+        Thread invalidacao = new Thread(() -> cache.invalidar(1L, "ana@example.com"));
+        invalidacao.start();
+        while (invalidacao.getState() == Thread.State.RUNNABLE || invalidacao.getState() == Thread.State.NEW) {
+            Thread.onSpinWait();
+        }
+        liberar.countDown();
+        leitura.join();
+        invalidacao.join();
+
+        assertThat(cache.buscarPorId(1L, id -> Optional.empty())).isEmpty();
+    }
+
+    private static UsuarioResponseDTO usuario(Long id, String email) {
+        UsuarioResponseDTO usuario = new UsuarioResponseDTO();
+        usuario.setId(id);
+        usuario.setEmail(email);
+        return usuario;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
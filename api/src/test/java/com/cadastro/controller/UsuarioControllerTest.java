@@ -0,0 +1,43 @@
+package com.cadastro.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioControllerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "GZIP", "gzip, deflate, br", "br;q=1.0, gzip;q=0.5", "x-gzip", " gzip ; q=0.001",
+            "*", "deflate, *;q=0.1", "gzip;q=0, x-gzip", "gzip;Q=1"})
+    void aceitaGzip(String acceptEncoding) {
+        assertThat(UsuarioController.aceitaGzip(acceptEncoding)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "identity", "deflate, br", "gzip;q=0", "gzip; q=0.000", "gzip;q=0, *",
+            "*;q=0", "gzip;q=abc", "gzip;q=2", "gzip;q=NaN", "gzipped", "x-gzip;q=0"})
+    void recusaGzip(String acceptEncoding) {
+        assertThat(UsuarioController.aceitaGzip(acceptEncoding)).isFalse();
+    }
+
+    @Test
+    void semCabecalhoNaoComprime() {
+        assertThat(UsuarioController.aceitaGzip(null)).isFalse();
+    }
+
+    @Test
+    void naoDependeDoIdiomaPadrao() {
+        Locale padrao = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            // Em turco, "GZIP".toLowerCase() daria "gzıp" (i sem ponto)
+            assertThat(UsuarioController.aceitaGzip("GZIP")).isTrue();
+        } finally {
+            Locale.setDefault(padrao);
+        }
+    }
+}
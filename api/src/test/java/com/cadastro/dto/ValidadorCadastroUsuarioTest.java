@@ -0,0 +1,244 @@
+package com.cadastro.dto;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paridade de ValidadorCadastroUsuario com o Bean Validation das anotações que o DTO tinha
+ * 
+ * Um campo com mais de uma violação (ex: vazio e curto) recebia uma delas em ordem
+ * indefinida; a comparação usa a mesma precedência do validador, "obrigatório" primeiro.
+ */
+class ValidadorCadastroUsuarioTest {
+
+    private static final ValidatorFactory FABRICA = Validation.buildDefaultValidatorFactory();
+    private static final Validator BEAN_VALIDATION = FABRICA.getValidator();
+
+    private final ValidadorCadastroUsuario validador = new ValidadorCadastroUsuario(false);
+
+    @AfterAll
+    static void encerrar() {
+        FABRICA.close();
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "joao.silva@example.com", "JOAO@EXAMPLE.COM", "a@b", "a@localhost", "user+tag@sub.example.co",
+            "o'brien@example.ie", "!#$%&'*+/=?^_`{|}~-@example.com", "\"quoted\"@example.com",
+            "\"com espaço\"@example.com", "\"a\\\"b\"@example.com", "\"\"@example.com", "\"a\\b\"@example.com",
+            "josé@exemplo.com.br", "usuario@exemplo.çom", "user@xn--exmpl-gva.com", "user@exa_mple.com",
+            "user@[192.168.0.1]", "user@[300.1.1.1]", "user@[1.2.3]", "user@[1.2.3.4.5]", "user@[1.2.3.4",
+            "user@[IPv6:2001:db8::1]", "user@[IPv6:::1]", "user@[IPv6:zz::1]",
+            "", " ", "email-invalido", "@example.com", "user@", "user@.com", "user@example..com",
+            "user.@example.com", ".user@example.com", "us..er@example.com", "user@-example.com",
+            "user@example-.com", "user@ex-ample.com", "user@example.com.", "a b@example.com",
+            "a\"b@example.com", "a@b@example.com", "user@exa mple.com", "user@@example.com",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@example.com",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@example.com"
+    })
+    void email(String email) {
+        assertParidade(dto -> dto.setEmail(email));
+    }
+
+    @Test
+    void emailComDominioLongo() {
+        String rotulo = "a".repeat(63);
+        assertParidade(dto -> dto.setEmail("user@" + String.join(".", rotulo, rotulo, rotulo, rotulo) + ".com"));
+        assertParidade(dto -> dto.setEmail("user@" + String.join(".", rotulo, rotulo, rotulo) + ".com"));
+        assertParidade(dto -> dto.setEmail("user@" + "a".repeat(64) + ".com"));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"01001-000", "01001000", "", "   ", "123", "0100-1000", "01001-00a", "01001 000",
+            "010010000", "01001--00", "01001-0000", "０1001000", " 01001000", "01001000 "})
+    void cep(String cep) {
+        assertParidade(dto -> dto.setCep(cep));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"1", "0042", "1000", "", " ", "12a", "-1", " 1", "1 ", "1.5", "١٢", "s/n"})
+    void numero(String numero) {
+        assertParidade(dto -> dto.setNumero(numero));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"SP", "RJ", "", "  ", "sp", "Sp", "S", "SPX", "S1", "ÁS", " SP", "SP "})
+    void estado(String estado) {
+        assertParidade(dto -> dto.setEstado(estado));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", " ", "  ", "   ", "Jo", "Joã", " Jo", "José da Silva"})
+    void textos(String valor) {
+        assertParidade(dto -> dto.setNome(valor));
+        assertParidade(dto -> dto.setSobrenome(valor));
+        assertParidade(dto -> dto.setSenha(valor));
+        assertParidade(dto -> dto.setRua(valor));
+        assertParidade(dto -> dto.setBairro(valor));
+        assertParidade(dto -> dto.setCidade(valor));
+    }
+
+    @Test
+    void tamanhos() {
+        assertParidade(dto -> dto.setNome("a".repeat(100)));
+        assertParidade(dto -> dto.setNome("a".repeat(101)));
+        assertParidade(dto -> dto.setSobrenome("a".repeat(101)));
+        assertParidade(dto -> dto.setSenha("12345"));
+        assertParidade(dto -> dto.setSenha("123456"));
+        assertParidade(dto -> dto.setBairro("S"));
+        assertParidade(dto -> dto.setCidade("X"));
+    }
+
+    @Test
+    void variosCamposInvalidos() {
+        assertParidade(dto -> {
+            dto.setNome("");
+            dto.setEmail("email-invalido");
+            dto.setCep("123");
+            dto.setNumero("12a");
+            dto.setEstado("sp");
+        });
+        Map<String, String> todos = validador.validar(new CadastroUsuarioDTO());
+        assertThat(todos).isEqualTo(beanValidation(new CadastroUsuarioDTO())).hasSize(10);
+    }
+
+    @Test
+    void falharRapidoDevolveOPrimeiroErroDaValidacaoCompleta() {
+        CadastroUsuarioDTO dto = valido();
+        dto.setEmail("email-invalido");
+        dto.setCep("123");
+        dto.setEstado("sp");
+
+        Map<String, String> completo = validador.validar(dto);
+        Map<String, String> rapido = new ValidadorCadastroUsuario(true).validar(dto);
+
+        assertThat(completo).hasSize(3);
+        assertThat(rapido).containsExactly(completo.entrySet().iterator().next());
+    }
+
+    private void assertParidade(Consumer<CadastroUsuarioDTO> alteracao) {
+        CadastroUsuarioDTO dto = valido();
+        alteracao.accept(dto);
+        assertThat(validador.validar(dto)).as("%s", dto).isEqualTo(beanValidation(dto));
+    }
+
+    /**
+     * Mensagem por campo do Bean Validation; com mais de uma violação no campo, a do @NotBlank
+     */
+    private static Map<String, String> beanValidation(CadastroUsuarioDTO dto) {
+        Map<String, List<ConstraintViolation<CadastroAnotado>>> porCampo = new HashMap<>();
+        for (ConstraintViolation<CadastroAnotado> violacao : BEAN_VALIDATION.validate(new CadastroAnotado(dto))) {
+            porCampo.computeIfAbsent(violacao.getPropertyPath().toString(), c -> new ArrayList<>()).add(violacao);
+        }
+        Map<String, String> erros = new HashMap<>();
+        porCampo.forEach((campo, violacoes) -> erros.put(campo, violacoes.stream()
+                .filter(v -> violacoes.size() == 1
+                        || v.getConstraintDescriptor().getAnnotation().annotationType() == NotBlank.class)
+                .findFirst()
+                .map(ConstraintViolation::getMessage)
+                .orElseThrow()));
+        return erros;
+    }
+
+    private static CadastroUsuarioDTO valido() {
+        return CadastroUsuarioDTO.builder()
+                .nome("João")
+                .sobrenome("Silva")
+                .email("joao.silva@example.com")
+                .senha("senha123")
+                .cep("01310-100")
+                .rua("Avenida Paulista")
+                .numero("1000")
+                .complemento("Apto 101")
+                .bairro("Bela Vista")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+    }
+
+    /**
+     * CadastroUsuarioDTO com as anotações de Bean Validation que ele tinha (como em ValidacaoBenchmark)
+     */
+    static class CadastroAnotado {
+
+        @NotBlank(message = "Nome é obrigatório")
+        @Size(min = 3, max = 100, message = "Nome deve ter entre 3 e 100 caracteres")
+        private final String nome;
+
+        @NotBlank(message = "Sobrenome é obrigatório")
+        @Size(min = 3, max = 100, message = "Sobrenome deve ter entre 3 e 100 caracteres")
+        private final String sobrenome;
+
+        @NotBlank(message = "Email é obrigatório")
+        @Email(message = "Email deve ser válido")
+        private final String email;
+
+        @NotBlank(message = "Senha é obrigatória")
+        @Size(min = 6, message = "Senha deve ter no mínimo 6 caracteres")
+        private final String senha;
+
+        @NotBlank(message = "CEP é obrigatório")
+        @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "CEP deve estar no formato 00000-000")
+        private final String cep;
+
+        @NotBlank(message = "Rua é obrigatória")
+        @Size(min = 3, message = "Rua deve ter no mínimo 3 caracteres")
+        private final String rua;
+
+        @NotBlank(message = "Número é obrigatório")
+        @Pattern(regexp = "^\\d+$", message = "Número deve conter apenas dígitos")
+        private final String numero;
+
+        private final String complemento;
+
+        @NotBlank(message = "Bairro é obrigatório")
+        @Size(min = 2, message = "Bairro deve ter no mínimo 2 caracteres")
+        private final String bairro;
+
+        @NotBlank(message = "Cidade é obrigatória")
+        @Size(min = 2, message = "Cidade deve ter no mínimo 2 caracteres")
+        private final String cidade;
+
+        @NotBlank(message = "Estado é obrigatório")
+        @Pattern(regexp = "^[A-Z]{2}$", message = "Estado deve ser uma sigla (ex: SP)")
+        private final String estado;
+
+        CadastroAnotado(CadastroUsuarioDTO dto) {
+            nome = dto.getNome();
+            sobrenome = dto.getSobrenome();
+            email = dto.getEmail();
+            senha = dto.getSenha();
+            cep = dto.getCep();
+            rua = dto.getRua();
+            numero = dto.getNumero();
+            complemento = dto.getComplemento();
+            bairro = dto.getBairro();
+            cidade = dto.getCidade();
+            estado = dto.getEstado();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cadastro.estatisticas;
+
+import com.cadastro.dto.EstatisticasUsuariosDTO;
+import com.cadastro.entity.Usuario;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstatisticasUsuariosTest {
+
+    /**
+     * Sem repositório injetado: qualquer acesso ao banco falharia
+     */
+    private final EstatisticasUsuarios estatisticas = new EstatisticasUsuarios();
+
+    @Test
+    void antesDaCargaInicialDevolveContadoresZeradosSemConsultarOBanco() {
+        estatisticas.registrarAposCommit(Usuario.builder().estado("SP").cidade("São Paulo")
+                .dataCriacao(LocalDateTime.now()).build());
+
+        EstatisticasUsuariosDTO resultado = estatisticas.obter();
+
+        assertThat(estatisticas.total()).isZero();
+        assertThat(resultado.getTotal()).isZero();
+        assertThat(resultado.getPorEstado()).isEmpty();
+        assertThat(resultado.getPorCidade()).isEmpty();
+        assertThat(resultado.getReconciliadoEm()).isNull();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cadastro.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroViolacaoEmailUnicoTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final Logger sqlExceptionHelper = contexto.getLogger("org.hibernate.engine.jdbc.spi.SqlExceptionHelper");
+    private final Logger batchingBatch = contexto.getLogger("org.hibernate.engine.jdbc.batch.internal.BatchingBatch");
+    private final FiltroViolacaoEmailUnico filtro = new FiltroViolacaoEmailUnico();
+
+    @Test
+    void descartaViolacaoDoEmailUnico() {
+        String violacao = "Unique index or primary key violation: \"PUBLIC.UK_USUARIOS_EMAIL_NORMALIZADO_INDEX_3 "
+                + "ON PUBLIC.USUARIOS(EMAIL_NORMALIZADO NULLS FIRST) VALUES ( /* 1 */ 'a@ex.com' )\"";
+
+        assertThat(decidir(sqlExceptionHelper, Level.WARN, "SQL Error: 23505, SQLState: 23505")).isEqualTo(FilterReply.DENY);
+        assertThat(decidir(sqlExceptionHelper, Level.ERROR, violacao)).isEqualTo(FilterReply.DENY);
+        assertThat(decidir(batchingBatch, Level.ERROR, "HHH000315: Exception executing batch [" + violacao + "]"))
+                .isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void mantemOsDemaisErrosDeSql() {
+        assertThat(decidir(sqlExceptionHelper, Level.WARN, "SQL Error: 40001, SQLState: 40001")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decidir(sqlExceptionHelper, Level.ERROR, "Deadlock detected. The current transaction was rolled back"))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decidir(sqlExceptionHelper, Level.ERROR, "Value too long for column \"CEP CHARACTER VARYING(255)\""))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decidir(sqlExceptionHelper, Level.ERROR, "Unique index or primary key violation: \"PUBLIC.PK_USUARIOS\""))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decidir(contexto.getLogger("com.cadastro"), Level.ERROR, "uk_usuarios_email_normalizado"))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    private FilterReply decidir(Logger logger, Level nivel, String mensagem) {
+        return filtro.decide(null, logger, nivel, mensagem, null, null);
+    }
+}
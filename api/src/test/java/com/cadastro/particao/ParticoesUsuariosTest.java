@@ -0,0 +1,79 @@
+package com.cadastro.particao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParticoesUsuariosTest {
+
+    @Test
+    void acrescentarParticaoSoMoveFatiasParaElaEmCercaDeUmQuarto() {
+        int movidas = 0;
+        for (int fatia = 0; fatia < ParticoesUsuarios.FATIAS; fatia++) {
+            int antes = ParticoesUsuarios.distribuir(fatia, 3);
+            int depois = ParticoesUsuarios.distribuir(fatia, 4);
+            assertThat(antes).isBetween(0, 2);
+            if (depois != antes) {
+                assertThat(depois).isEqualTo(3);
+                movidas++;
+            }
+        }
+        assertThat(movidas).isBetween(ParticoesUsuarios.FATIAS / 4 - 64, ParticoesUsuarios.FATIAS / 4 + 64);
+    }
+
+    @Test
+    void distribuicaoUsaTodasAsParticoes() {
+        int[] fatiasPorParticao = new int[4];
+        for (int fatia = 0; fatia < ParticoesUsuarios.FATIAS; fatia++) {
+            fatiasPorParticao[ParticoesUsuarios.distribuir(fatia, 4)]++;
+        }
+        for (int fatias : fatiasPorParticao) {
+            assertThat(fatias).isBetween(ParticoesUsuarios.FATIAS / 4 - 64, ParticoesUsuarios.FATIAS / 4 + 64);
+        }
+    }
+
+    @Test
+    void particaoDoIdCodificadoEhADoEmail() {
+        ParticoesUsuarios particoes = new ParticoesUsuarios(configuracao(4));
+        try {
+            for (int i = 0; i < 200; i++) {
+                String email = "Usuario" + i + "@Example.com";
+                int fatia = ParticoesUsuarios.fatiaDoEmail(email);
+                long id = (i + 1L) * ParticoesUsuarios.FATIAS + fatia;
+
+                assertThat(fatia).isEqualTo(ParticoesUsuarios.fatiaDoEmail(email.toLowerCase()));
+                assertThat(particoes.particaoDoId(id)).isEqualTo(particoes.particaoDoEmail(email))
+                        .isEqualTo(particoes.particaoDaFatia(fatia));
+            }
+        } finally {
+            particoes.encerrar();
+        }
+    }
+
+    @Test
+    void semParticionamentoTudoFicaNaParticaoZero() {
+        ParticionamentoProperties configuracao = configuracao(4);
+        configuracao.setHabilitado(false);
+        ParticoesUsuarios particoes = new ParticoesUsuarios(configuracao);
+
+        assertThat(particoes.isParticionado()).isFalse();
+        assertThat(particoes.particaoDoId(123_456L)).isZero();
+        assertThat(particoes.particaoDoEmail("ana@example.com")).isZero();
+    }
+
+    private static ParticionamentoProperties configuracao(int quantidade) {
+        ParticionamentoProperties configuracao = new ParticionamentoProperties();
+        configuracao.setHabilitado(true);
+        List<ParticionamentoProperties.Particao> lista = new ArrayList<>();
+        for (int p = 0; p < quantidade; p++) {
+            ParticionamentoProperties.Particao particao = new ParticionamentoProperties.Particao();
+            particao.setUrl("jdbc:h2:mem:teste" + p);
+            lista.add(particao);
+        }
+        configuracao.setParticoes(lista);
+        return configuracao;
+    }
+}
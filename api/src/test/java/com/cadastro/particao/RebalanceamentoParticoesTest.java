@@ -0,0 +1,110 @@
+package com.cadastro.particao;
+
+import com.cadastro.CadastroUsuarioApiApplication;
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rebalanceamento ao passar de duas para três partições, sobre os mesmos bancos H2 em memória
+ */
+class RebalanceamentoParticoesTest {
+
+    private static final int USUARIOS = 90;
+
+    @Test
+    void depoisDoRebalanceamentoCadaUsuarioEstaUmaVezNaSuaParticao() {
+        List<UsuarioResponseDTO> cadastrados = new ArrayList<>();
+        try (ConfigurableApplicationContext contexto = iniciar(2)) {
+            UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+            for (int i = 0; i < USUARIOS; i++) {
+                cadastrados.add(usuarioService.cadastrarUsuario(CadastroUsuarioDTO.builder()
+                        .nome("Ana").sobrenome("Silva").email("rebalanceamento" + i + "@example.com")
+                        .senha("Senha123").cep("01001000").rua("Praça da Sé").numero("1").bairro("Sé")
+                        .cidade("São Paulo").estado("SP").build()));
+            }
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar(3)) {
+            ParticoesUsuarios particoes = contexto.getBean(ParticoesUsuarios.class);
+            RebalanceamentoParticoes rebalanceamento = contexto.getBean(RebalanceamentoParticoes.class);
+            List<? extends DataSource> bancos = contexto.getBean(DataSourceParticionado.class).getParticoes();
+
+            List<UsuarioResponseDTO> foraDoLugar = new ArrayList<>();
+            for (UsuarioResponseDTO usuario : cadastrados) {
+                int particao = particoes.particaoDoId(usuario.getId());
+                assertThat(particao).isIn(ParticoesUsuarios.distribuir(fatia(usuario), 2), 2);
+                if (particao == 2) {
+                    foraDoLugar.add(usuario);
+                }
+            }
+            assertThat(foraDoLugar).isNotEmpty();
+
+            // Bloco interrompido: o primeiro usuário já foi copiado para o destino, mas não removido da origem
+            UsuarioResponseDTO copiado = foraDoLugar.get(0);
+            copiar(bancos.get(ParticoesUsuarios.distribuir(fatia(copiado), 2)), bancos.get(2), copiado.getId());
+
+            Map<String, Object> simulado = rebalanceamento.rebalancear(true);
+            assertThat(simulado.get("movidos")).isEqualTo(0L);
+            assertThat(simulado.get("verificados")).isEqualTo(USUARIOS + 1L);
+
+            Map<String, Object> resultado = rebalanceamento.rebalancear(false);
+            assertThat(resultado.get("movidos")).isEqualTo(foraDoLugar.size() - 1L);
+
+            UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+            for (UsuarioResponseDTO usuario : cadastrados) {
+                int particao = particoes.particaoDoId(usuario.getId());
+                for (int p = 0; p < bancos.size(); p++) {
+                    Integer linhas = new JdbcTemplate(bancos.get(p))
+                            .queryForObject("select count(*) from usuarios where id = ?", Integer.class, usuario.getId());
+                    assertThat(linhas).as("usuário %d na partição %d", usuario.getId(), p).isEqualTo(p == particao ? 1 : 0);
+                }
+                assertThat(usuarioService.buscarUsuarioPorId(usuario.getId()).getEmail()).isEqualTo(usuario.getEmail());
+                assertThat(usuarioService.buscarUsuarioPorEmail(usuario.getEmail()).getId()).isEqualTo(usuario.getId());
+            }
+
+            Map<String, Object> repetido = rebalanceamento.rebalancear(false);
+            assertThat(repetido.get("movidos")).isEqualTo(0L);
+            assertThat(repetido.get("verificados")).isEqualTo((long) USUARIOS);
+        }
+    }
+
+    private static int fatia(UsuarioResponseDTO usuario) {
+        return (int) (usuario.getId() % ParticoesUsuarios.FATIAS);
+    }
+
+    private static void copiar(DataSource origem, DataSource destino, long id) {
+        Map<String, Object> linha = new JdbcTemplate(origem).queryForMap("select * from usuarios where id = ?", id);
+        Map<String, Object> parametros = new HashMap<>(linha);
+        new NamedParameterJdbcTemplate(destino).update("insert into usuarios (" + String.join(",", linha.keySet())
+                + ") values (:" + String.join(",:", linha.keySet()) + ")", new MapSqlParameterSource(parametros));
+    }
+
+    private static ConfigurableApplicationContext iniciar(int quantidade) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--usuarios.limites.habilitado=false",
+                "--usuarios.senha.custo=4",
+                "--usuarios.particionamento.habilitado=true"));
+        for (int p = 0; p < quantidade; p++) {
+            argumentos.add("--usuarios.particionamento.particoes[" + p + "].url=jdbc:h2:mem:rebalanceamento" + p
+                    + ";DB_CLOSE_DELAY=-1");
+        }
+        return new SpringApplicationBuilder(CadastroUsuarioApiApplication.class)
+                .run(argumentos.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,89 @@
+package com.cadastro.service;
+
+import com.cadastro.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 50 cadastros simultâneos com o mesmo email: um 201, os demais 409, uma linha no banco
+ * e nenhum log de erro de SQL pela violação tratada
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "usuarios.limites.habilitado=false",
+        "usuarios.senha.custo=4"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class CadastroDuplicadoConcorrenteTest {
+
+    private static final int REQUISICOES = 50;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void cadastrosSimultaneosComMesmoEmailCriamUmUsuario(CapturedOutput saida) throws Exception {
+        String email = "concorrente@example.com";
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> pedido = new HttpEntity<>("{\"nome\":\"Ana\",\"sobrenome\":\"Silva\","
+                + "\"email\":\"" + email + "\",\"senha\":\"Senha123\",\"cep\":\"01001000\","
+                + "\"rua\":\"Praça da Sé\",\"numero\":\"1\",\"bairro\":\"Sé\",\"cidade\":\"São Paulo\","
+                + "\"estado\":\"SP\"}", cabecalhos);
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUISICOES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<HttpStatus>> respostas = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUISICOES; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return rest.postForEntity("/usuarios", pedido, String.class).getStatusCode();
+                }));
+            }
+            largada.countDown();
+            List<HttpStatus> status = new ArrayList<>();
+            for (Future<HttpStatus> resposta : respostas) {
+                status.add(resposta.get());
+            }
+
+            Map<HttpStatus, Long> porStatus = status.stream()
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            assertThat(porStatus).containsOnlyKeys(HttpStatus.CREATED, HttpStatus.CONFLICT);
+            assertThat(porStatus.get(HttpStatus.CREATED)).isEqualTo(1L);
+            assertThat(porStatus.get(HttpStatus.CONFLICT)).isEqualTo(REQUISICOES - 1L);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(usuarioRepository.findDtoByEmailNormalizado(email)).isPresent();
+        assertThat(usuarioRepository.findEmailsExistentes(List.of(email))).hasSize(1);
+        assertThat(saida.getOut())
+                .doesNotContain("SqlExceptionHelper")
+                .doesNotContain("HHH000315")
+                .doesNotContainIgnoringCase("uk_usuarios_email_normalizado");
+    }
+}
@@ -0,0 +1,173 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.ItemResultadoLoteDTO;
+import com.cadastro.dto.ResultadoLoteDTO;
+import com.cadastro.dto.StatusItemLote;
+import com.cadastro.entity.Usuario;
+import com.cadastro.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lote com um email cadastrado por outra requisição entre a consulta de duplicados e o INSERT
+ */
+@SpringBootTest(properties = {
+        "usuarios.limites.habilitado=false",
+        "usuarios.senha.custo=4",
+        "usuarios.lote.tamanho-bloco=10",
+        "usuarios.lote.intervalo-commit=2"
+})
+class UsuarioLoteConcorrenteTest {
+
+    private static final int USUARIOS = 25;
+
+    @Autowired
+    private UsuarioLoteService usuarioLoteService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    /**
+     * Troca o repositório por um mock que delega ao original (o proxy do Spring Data não aceita spy)
+     */
+    @TestConfiguration
+    static class Configuracao {
+
+        private static UsuarioRepository original;
+
+        @Bean
+        static BeanPostProcessor repositorioDelegado() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nome) {
+                    if (!(bean instanceof UsuarioRepository)) {
+                        return bean;
+                    }
+                    original = (UsuarioRepository) bean;
+                    return mock(UsuarioRepository.class, delegatesTo(bean));
+                }
+            };
+        }
+    }
+
+    @Test
+    void emailCadastradoPorOutraRequisicaoFicaDuplicadoEORestoEhCriado() throws Exception {
+        List<CadastroUsuarioDTO> lote = lote("corrida");
+        String disputado = lote.get(13).getEmail();
+        // Cadastro individual pela API: o filtro de emails passa a conhecer o email
+        antesDoInsert(disputado, () -> usuarioService.cadastrarUsuario(cadastro(disputado)));
+
+        ResultadoLoteDTO resultado = usuarioLoteService.cadastrarLote(json(lote));
+
+        assertResultado(resultado, lote, 13);
+    }
+
+    @Test
+    void emailGravadoForaDaInstanciaFicaDuplicadoNaGravacaoItemAItem() throws Exception {
+        List<CadastroUsuarioDTO> lote = lote("externo");
+        String disputado = lote.get(4).getEmail();
+        // INSERT direto no banco (outra instância): o filtro de emails não sabe dele e a nova consulta não o vê
+        antesDoInsert(disputado, () -> jdbc.update("insert into usuarios (id, nome, sobrenome, email, email_normalizado,"
+                        + " senha, cep, rua, numero, bairro, cidade, estado, data_criacao, versao)"
+                        + " values (?, 'Ana', 'Silva', ?, ?, 'x', '01001000', 'Praça da Sé', '1', 'Sé', 'São Paulo', 'SP', ?, 0)",
+                900_000_001L, disputado, Usuario.normalizarEmail(disputado), Timestamp.valueOf(LocalDateTime.now())));
+
+        ResultadoLoteDTO resultado = usuarioLoteService.cadastrarLote(json(lote));
+
+        assertResultado(resultado, lote, 4);
+    }
+
+    private void assertResultado(ResultadoLoteDTO resultado, List<CadastroUsuarioDTO> lote, int disputado) {
+        assertThat(resultado.getCriados()).isEqualTo(USUARIOS - 1L);
+        assertThat(resultado.getDuplicados()).isEqualTo(1L);
+        assertThat(resultado.getItens()).hasSize(USUARIOS);
+        for (ItemResultadoLoteDTO item : resultado.getItens()) {
+            CadastroUsuarioDTO dto = lote.get((int) item.getIndice());
+            Integer linhas = jdbc.queryForObject("select count(*) from usuarios where email_normalizado = ?",
+                    Integer.class, Usuario.normalizarEmail(dto.getEmail()));
+            assertThat(linhas).as(dto.getEmail()).isEqualTo(1);
+            if (item.getIndice() == disputado) {
+                assertThat(item.getStatus()).isEqualTo(StatusItemLote.DUPLICADO);
+            } else {
+                assertThat(item.getStatus()).as(dto.getEmail()).isEqualTo(StatusItemLote.CRIADO);
+                assertThat(usuarioService.buscarUsuarioPorId(item.getId()).getEmail()).isEqualTo(dto.getEmail());
+            }
+        }
+    }
+
+    /**
+     * Executa o cadastro concorrente, em outra thread e transação, no primeiro saveAll que inclui o email
+     */
+    @SuppressWarnings("unchecked")
+    private void antesDoInsert(String email, Runnable cadastroConcorrente) {
+        AtomicBoolean executado = new AtomicBoolean();
+        doAnswer(chamada -> {
+            Iterable<Usuario> usuarios = chamada.getArgument(0);
+            boolean inclui = StreamSupport.stream(usuarios.spliterator(), false)
+                    .anyMatch(u -> u.getEmail().equals(email));
+            if (inclui && executado.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(cadastroConcorrente).join();
+            }
+            return delegatesTo(Configuracao.original).answer(chamada);
+        }).when(usuarioRepository).saveAll(any(Iterable.class));
+    }
+
+    private ByteArrayInputStream json(List<CadastroUsuarioDTO> lote) throws Exception {
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(lote));
+    }
+
+    private static List<CadastroUsuarioDTO> lote(String prefixo) {
+        List<CadastroUsuarioDTO> lote = new ArrayList<>();
+        for (int i = 0; i < USUARIOS; i++) {
+            lote.add(cadastro(prefixo + i + "@example.com"));
+        }
+        return lote;
+    }
+
+    private static CadastroUsuarioDTO cadastro(String email) {
+        return CadastroUsuarioDTO.builder()
+                .nome("Ana")
+                .sobrenome("Silva")
+                .email(email)
+                .senha("Senha123")
+                .cep("01001000")
+                .rua("Praça da Sé")
+                .numero("1")
+                .bairro("Sé")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+    }
+}
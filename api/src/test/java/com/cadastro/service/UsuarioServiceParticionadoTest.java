@@ -0,0 +1,135 @@
+package com.cadastro.service;
+
+import com.cadastro.dto.CadastroUsuarioDTO;
+import com.cadastro.dto.PaginaUsuariosDTO;
+import com.cadastro.dto.UsuarioResponseDTO;
+import com.cadastro.particao.DataSourceParticionado;
+import com.cadastro.particao.ParticoesUsuarios;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cadastro, consulta e listagem com o perfil particionado (quatro bancos H2 em memória)
+ */
+@SpringBootTest(properties = {
+        "usuarios.limites.habilitado=false",
+        "usuarios.senha.custo=4"
+})
+@ActiveProfiles("particionado")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsuarioServiceParticionadoTest {
+
+    private static final int USUARIOS = 60;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ParticoesUsuarios particoes;
+
+    @Autowired
+    private DataSourceParticionado dataSource;
+
+    private final List<UsuarioResponseDTO> cadastrados = new ArrayList<>();
+
+    @BeforeAll
+    void cadastrar() {
+        for (int i = 0; i < USUARIOS; i++) {
+            cadastrados.add(usuarioService.cadastrarUsuario(cadastro("Particionado" + i + "@Example.com")));
+        }
+    }
+
+    @Test
+    void idTrazAFatiaDoEmailEOUsuarioFicaSoNaSuaParticao() {
+        assertThat(particoes.getQuantidade()).isEqualTo(4);
+        List<? extends DataSource> bancos = dataSource.getParticoes();
+        int[] porParticao = new int[bancos.size()];
+        for (UsuarioResponseDTO usuario : cadastrados) {
+            long id = usuario.getId();
+            assertThat(id % ParticoesUsuarios.FATIAS).isEqualTo(ParticoesUsuarios.fatiaDoEmail(usuario.getEmail()));
+            assertThat(id / ParticoesUsuarios.FATIAS).isPositive();
+
+            int particao = particoes.particaoDoId(id);
+            assertThat(particao).isEqualTo(particoes.particaoDoEmail(usuario.getEmail()));
+            for (int p = 0; p < bancos.size(); p++) {
+                Integer linhas = new JdbcTemplate(bancos.get(p))
+                        .queryForObject("select count(*) from usuarios where id = ?", Integer.class, id);
+                assertThat(linhas).as("usuário %d na partição %d", id, p).isEqualTo(p == particao ? 1 : 0);
+            }
+            porParticao[particao]++;
+        }
+        assertThat(porParticao).doesNotContain(0);
+    }
+
+    @Test
+    void buscaPorIdEPorEmailVaoDiretoParaAParticao() {
+        for (UsuarioResponseDTO usuario : cadastrados) {
+            assertThat(usuarioService.buscarUsuarioPorId(usuario.getId()).getEmail()).isEqualTo(usuario.getEmail());
+            assertThat(usuarioService.buscarUsuarioPorEmail(usuario.getEmail().toUpperCase()).getId())
+                    .isEqualTo(usuario.getId());
+        }
+    }
+
+    @Test
+    void listagemIntercalaAsParticoesEmOrdemDeId() {
+        List<Long> listados = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaUsuariosDTO pagina = usuarioService.listarUsuarios(cursor, 7, null, null);
+            assertThat(pagina.getQuantidade()).isLessThanOrEqualTo(7);
+            pagina.getUsuarios().forEach(u -> listados.add(u.getId()));
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+
+        List<Long> esperados = cadastrados.stream().map(UsuarioResponseDTO::getId).sorted().collect(Collectors.toList());
+        assertThat(listados).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    void intercalarDevolveOsPrimeirosEmOrdemDeId() {
+        List<List<UsuarioResponseDTO>> paginas = List.of(
+                usuarios(1, 5, 9),
+                usuarios(2, 3),
+                usuarios(),
+                usuarios(4, 6, 7, 8));
+
+        assertThat(UsuarioService.intercalar(paginas, 6)).extracting(UsuarioResponseDTO::getId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(UsuarioService.intercalar(paginas, 20)).extracting(UsuarioResponseDTO::getId)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    private static List<UsuarioResponseDTO> usuarios(long... ids) {
+        return IntStream.range(0, ids.length)
+                .mapToObj(i -> UsuarioResponseDTO.builder().id(ids[i]).build())
+                .collect(Collectors.toList());
+    }
+
+    private static CadastroUsuarioDTO cadastro(String email) {
+        return CadastroUsuarioDTO.builder()
+                .nome("Ana")
+                .sobrenome("Silva")
+                .email(email)
+                .senha("Senha123")
+                .cep("01001000")
+                .rua("Praça da Sé")
+                .numero("1")
+                .bairro("Sé")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+    }
+}
@@ -400,18 +400,13 @@ $(document).ready(function () {
         // Tratar diferentes tipos de erro
         let mensagemErro = "Erro ao cadastrar usuário. Tente novamente.";
 
-        if (xhr.status === 400) {
-          // Erro de validação
-          const erros = xhr.responseJSON;
-          if (typeof erros === "object") {
-            // Se for um objeto com erros de validação
-            if (erros.erro) {
-              mensagemErro = erros.erro;
-            } else {
-              // Construir mensagem com todos os erros
-              mensagemErro = Object.values(erros).join(", ");
-            }
-          }
+        const erros = xhr.responseJSON;
+        if (xhr.status >= 400 && xhr.status < 500 && erros && erros.erro) {
+          // 409 (email já cadastrado), 429 (servidor ocupado) e demais recusas trazem a mensagem em "erro"
+          mensagemErro = erros.erro;
+        } else if (xhr.status === 400 && erros && typeof erros === "object") {
+          // Erros de validação: construir mensagem com todos os erros
+          mensagemErro = Object.values(erros).join(", ");
         } else if (xhr.status === 500) {
           mensagemErro = "Erro no servidor. Tente novamente mais tarde.";
         } else if (status === "timeout") {